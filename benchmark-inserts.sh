@@ -0,0 +1,55 @@
+#!/bin/bash
+
+# Compares throughput of the bulk import (POST /api/admin/items/import) with one row per transaction and
+# JDBC statement against its default JDBC batching. The import inserts through JdbcTemplate, so this measures
+# JDBC batching only; it does not exercise Hibernate entity inserts or the id generation strategy.
+# Requires a running database (see docker-compose.yml) and a built jar (mvn package).
+# Each mode is started fresh and imports the same number of generated items.
+# Imported rows are left in the database (names are unique per run).
+#
+# Usage: ./benchmark-inserts.sh [rows]   e.g. ./benchmark-inserts.sh 20000
+
+set -e
+
+ROWS=${1:-20000}
+PORT=${BENCHMARK_PORT:-8090}
+JAR=${BENCHMARK_JAR:-target/backend-0.0.1-SNAPSHOT.jar}
+BASE_URL="http://localhost:${PORT}"
+RUN_ID=$(date +%s)
+
+[ -f "$JAR" ] || { echo "$JAR not found, run mvn package first"; exit 1; }
+
+run_mode() {
+    local mode=$1
+    shift
+    SERVER_PORT=$PORT LOG_LEVEL=WARN JPA_SHOW_SQL=false CATALOG_SNAPSHOT_ENABLED=false \
+        java -Xmx512m -jar "$JAR" --cheko.limiter.enabled=false "$@" > "target/benchmark-${mode}.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    until curl -sf "${BASE_URL}/api/health" >/dev/null; do
+        kill -0 $pid 2>/dev/null || { echo "$mode mode failed to start, see target/benchmark-${mode}.log"; exit 1; }
+        sleep 1
+    done
+
+    local csv="target/benchmark-${mode}.csv"
+    echo "name,description,price,calories,category" > "$csv"
+    seq 1 "$ROWS" | awk -v prefix="bench-${RUN_ID}-${mode}" \
+        '{printf "%s-%d,Benchmark item %d,%d.50,%d,Breakfast\n", prefix, $1, $1, 5 + $1 % 40, 100 + $1 % 700}' >> "$csv"
+
+    local start end result
+    start=$(date +%s.%N)
+    result=$(curl -sf -X POST -H "Content-Type: text/csv" --data-binary "@${csv}" "${BASE_URL}/api/admin/items/import")
+    end=$(date +%s.%N)
+    printf "%-10s %s rows in %.2f s (%.0f rows/s): %s\n" "$mode" "$ROWS" "$(echo "$end - $start" | bc)" \
+        "$(echo "$ROWS / ($end - $start)" | bc -l)" "$(echo "$result" | sed 's/,"errors".*//')"
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+echo "Importing ${ROWS} items per mode"
+run_mode unbatched --cheko.import.chunk-size=1 \
+    --spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=false
+run_mode batched
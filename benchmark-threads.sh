@@ -0,0 +1,72 @@
+#!/bin/bash
+
+# Compares throughput, latency and memory of the platform-thread and virtual-thread serving modes.
+# Requires a running database (see docker-compose.yml), a built jar (mvn package) and `hey`
+# (https://github.com/rakyll/hey). Each mode is started fresh, warmed up, then loaded.
+#
+# Usage: ./benchmark-threads.sh [concurrency] [duration]   e.g. ./benchmark-threads.sh 400 60s
+
+set -e
+
+CONCURRENCY=${1:-400}
+DURATION=${2:-60s}
+PORT=${BENCHMARK_PORT:-8090}
+JAR=${BENCHMARK_JAR:-target/backend-0.0.1-SNAPSHOT.jar}
+BASE_URL="http://localhost:${PORT}"
+# Mix of cached reads and database-bound requests
+ENDPOINTS=(
+    "/api/menu/items?page=0&size=20"
+    "/api/menu/items/search?q=soup"
+    "/api/map/markers"
+    "/api/map/markers/nearby?lat=24.7&lng=46.7&radius=10"
+)
+
+command -v hey >/dev/null || { echo "hey is not installed"; exit 1; }
+[ -f "$JAR" ] || { echo "$JAR not found, run mvn package first"; exit 1; }
+
+metric() {
+    curl -s "${BASE_URL}/actuator/metrics/$1${2:+?tag=$2}" | sed -n 's/.*"value":\([0-9.E+-]*\).*/\1/p' | head -1
+}
+
+run_mode() {
+    local mode=$1 virtual=$2
+    SERVER_PORT=$PORT LOG_LEVEL=WARN JPA_SHOW_SQL=false CATALOG_SNAPSHOT_ENABLED=false \
+        java -Xmx512m -jar "$JAR" --cheko.threads.virtual.enabled="$virtual" \
+        --cheko.limiter.enabled=false > "target/benchmark-${mode}.log" 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null" EXIT
+
+    until curl -sf "${BASE_URL}/api/health" >/dev/null; do
+        kill -0 $pid 2>/dev/null || { echo "$mode mode failed to start, see target/benchmark-${mode}.log"; exit 1; }
+        sleep 1
+    done
+
+    for endpoint in "${ENDPOINTS[@]}"; do
+        hey -z 10s -c 50 "${BASE_URL}${endpoint}" >/dev/null
+    done
+
+    local total_rps=0
+    for endpoint in "${ENDPOINTS[@]}"; do
+        local output rps p99
+        output=$(hey -z "$DURATION" -c "$CONCURRENCY" "${BASE_URL}${endpoint}")
+        rps=$(echo "$output" | awk '/Requests\/sec/ {print $2}')
+        p99=$(echo "$output" | awk '/99% in/ {print $3}')
+        printf "%-9s %-55s %10s req/s  p99 %ss\n" "$mode" "$endpoint" "$rps" "$p99"
+        total_rps=$(echo "$total_rps + $rps" | bc)
+    done
+
+    local rss heap threads
+    rss=$(ps -o rss= -p $pid | awk '{printf "%.0f", $1 / 1024}')
+    heap=$(metric jvm.memory.used area:heap | awk '{printf "%.0f", $1 / 1048576}')
+    threads=$(metric jvm.threads.peak)
+    printf "%-9s total %.0f req/s, RSS %s MB, heap used %s MB, peak platform threads %s\n\n" \
+        "$mode" "$total_rps" "$rss" "$heap" "$threads"
+
+    kill $pid
+    wait $pid 2>/dev/null || true
+    trap - EXIT
+}
+
+echo "Concurrency ${CONCURRENCY}, ${DURATION} per endpoint"
+run_mode platform false
+run_mode virtual true
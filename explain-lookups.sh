@@ -0,0 +1,36 @@
+#!/bin/bash
+
+# Checks that the case-insensitive lookups and foreign-key joins can use their indexes (V7, V8).
+# Sequential scans are disabled for the session, so small development tables still show the index plan.
+# Requires psql and a migrated database; connection settings come from the usual PG* variables.
+#
+# Usage: PGHOST=localhost PGUSER=postgres PGDATABASE=cheko ./explain-lookups.sh
+
+set -e
+
+command -v psql >/dev/null || { echo "psql is not installed"; exit 1; }
+
+QUERIES=(
+    "uq_items_name_active|SELECT 1 FROM items WHERE deleted_at IS NULL AND LOWER(name) = LOWER('Tomato Soup')"
+    "uq_categories_name_active|SELECT * FROM categories WHERE deleted_at IS NULL AND LOWER(name) = LOWER('soups')"
+    "idx_branches_name_active|SELECT 1 FROM branches WHERE deleted_at IS NULL AND LOWER(name) = LOWER('Cheko Riyadh')"
+    "idx_locations_city_active|SELECT * FROM locations WHERE deleted_at IS NULL AND LOWER(city) = LOWER('riyadh')"
+    "idx_locations_state_active|SELECT * FROM locations WHERE deleted_at IS NULL AND LOWER(state) = LOWER('riyadh province')"
+    "idx_items_category_id|SELECT * FROM items WHERE category_id = 1"
+    "idx_locations_branch_id|SELECT * FROM locations WHERE branch_id = 1"
+)
+
+failed=0
+for entry in "${QUERIES[@]}"; do
+    index=${entry%%|*}
+    query=${entry#*|}
+    plan=$(psql -X -q -A -t -v ON_ERROR_STOP=1 -c "SET enable_seqscan = off" -c "EXPLAIN ${query}")
+    if echo "$plan" | grep -q "$index"; then
+        printf "ok    %-28s %s\n" "$index" "$(echo "$plan" | grep -m1 "$index" | sed 's/^ *//')"
+    else
+        printf "FAIL  %-28s %s\n" "$index" "$query"
+        echo "$plan" | sed 's/^/      /'
+        failed=1
+    fi
+done
+exit $failed
@@ -0,0 +1,153 @@
+package com.cheko.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Classifies API requests as public reads or admin writes and caps how many request threads each class
+// may occupy, so a burst of slow admin operations cannot take over Tomcat's thread pool.
+// Requests over the limit wait up to max-wait-ms in a bounded queue, then get 503 with Retry-After.
+@Component
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> publicWritePaths;
+    private final Map<TrafficClass, Bulkhead> bulkheads = new EnumMap<>(TrafficClass.class);
+
+    public BulkheadFilter(Environment environment, MeterRegistry meterRegistry) {
+        // Customer actions that write (e.g. placing an order) belong with the public traffic
+        this.publicWritePaths = List.of(environment.getProperty("cheko.bulkhead.public-write-paths", String[].class,
+                new String[]{"/api/menu/items/*/order"}));
+        for (TrafficClass trafficClass : new TrafficClass[]{TrafficClass.PUBLIC, TrafficClass.ADMIN}) {
+            String prefix = "cheko.bulkhead." + trafficClass.key() + ".";
+            bulkheads.put(trafficClass, new Bulkhead(trafficClass,
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, trafficClass == TrafficClass.PUBLIC ? 150 : 10),
+                    environment.getProperty(prefix + "max-queued", Integer.class, trafficClass == TrafficClass.PUBLIC ? 50 : 10),
+                    environment.getProperty(prefix + "max-wait-ms", Long.class, trafficClass == TrafficClass.PUBLIC ? 200L : 2000L),
+                    meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !path(request).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TrafficClass trafficClass = classify(request);
+        Bulkhead bulkhead = bulkheads.get(trafficClass);
+        if (!bulkhead.enter()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    "Too many concurrent " + trafficClass.key() + " requests");
+            return;
+        }
+
+        TrafficClass.set(trafficClass);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TrafficClass.clear();
+            bulkhead.exit();
+        }
+    }
+
+    private TrafficClass classify(HttpServletRequest request) {
+        String path = path(request);
+        if (path.startsWith("/api/admin/")) {
+            return TrafficClass.ADMIN;
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return TrafficClass.PUBLIC;
+        }
+        for (String pattern : publicWritePaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return TrafficClass.PUBLIC;
+            }
+        }
+        return TrafficClass.ADMIN;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static final class Bulkhead {
+        private final Semaphore permits;
+        private final int maxConcurrent;
+        private final int maxQueued;
+        private final long maxWaitMs;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Counter rejected;
+        private final Timer waits;
+
+        private Bulkhead(TrafficClass trafficClass, int maxConcurrent, int maxQueued, long maxWaitMs,
+                         MeterRegistry meterRegistry) {
+            this.permits = new Semaphore(maxConcurrent, true);
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+            this.maxWaitMs = maxWaitMs;
+            Tags tags = Tags.of("class", trafficClass.key());
+            meterRegistry.gauge("cheko.bulkhead.active", tags, active);
+            meterRegistry.gauge("cheko.bulkhead.queued", tags, queued);
+            meterRegistry.gauge("cheko.bulkhead.limit", tags, this, bulkhead -> bulkhead.maxConcurrent);
+            this.rejected = meterRegistry.counter("cheko.bulkhead.rejected", tags);
+            this.waits = meterRegistry.timer("cheko.bulkhead.wait", tags);
+        }
+
+        private boolean enter() {
+            if (permits.tryAcquire()) {
+                active.incrementAndGet();
+                return true;
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                rejected.increment();
+                return false;
+            }
+            long started = System.nanoTime();
+            try {
+                if (!permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                    rejected.increment();
+                    return false;
+                }
+                active.incrementAndGet();
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected.increment();
+                return false;
+            } finally {
+                queued.decrementAndGet();
+                waits.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void exit() {
+            active.decrementAndGet();
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.cheko.backend.config;
+
+import com.cheko.backend.util.GradientLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Adaptive concurrency limit in front of the menu and map APIs (see WebConfig).
+// The limit follows observed latency (GradientLimit), so overload turns into fast 503s with Retry-After
+// instead of requests piling up on the connection pool. Reads served from the result caches or
+// snapshots may use the whole limit; other requests only the db-share of it, so they are shed first.
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED = ConcurrencyLimitInterceptor.class.getName() + ".started";
+    private static final String INFLIGHT = ConcurrencyLimitInterceptor.class.getName() + ".inflight";
+
+    private final boolean enabled;
+    private final double dbShare;
+    private final String retryAfterSeconds;
+    private final List<String> cachedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final GradientLimit limit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Counter rejectedCached;
+    private final Counter rejectedDb;
+
+    public ConcurrencyLimitInterceptor(Environment environment, MeterRegistry meterRegistry) {
+        this.enabled = environment.getProperty("cheko.limiter.enabled", Boolean.class, true);
+        this.dbShare = environment.getProperty("cheko.limiter.db-share", Double.class, 0.75);
+        this.retryAfterSeconds = environment.getProperty("cheko.limiter.retry-after-seconds", "1");
+        this.cachedPaths = List.of(environment.getProperty("cheko.limiter.cached-paths", String[].class, new String[0]));
+        this.limit = new GradientLimit(
+                environment.getProperty("cheko.limiter.initial-limit", Integer.class, 20),
+                environment.getProperty("cheko.limiter.min-limit", Integer.class, 4),
+                environment.getProperty("cheko.limiter.max-limit", Integer.class, 200),
+                environment.getProperty("cheko.limiter.tolerance", Double.class, 1.5),
+                environment.getProperty("cheko.limiter.smoothing", Double.class, 0.2),
+                environment.getProperty("cheko.limiter.backoff-ratio", Double.class, 0.9));
+
+        meterRegistry.gauge("cheko.limiter.limit", Tags.empty(), limit, GradientLimit::getLimit);
+        meterRegistry.gauge("cheko.limiter.inflight", Tags.empty(), inflight);
+        meterRegistry.gauge("cheko.limiter.rtt.baseline", Tags.empty(), limit, l -> l.getLongRttNanos() / 1_000_000.0);
+        this.rejectedCached = meterRegistry.counter("cheko.limiter.rejected", "priority", "cached");
+        this.rejectedDb = meterRegistry.counter("cheko.limiter.rejected", "priority", "db");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!enabled) {
+            return true;
+        }
+        boolean cached = isCachedRead(request);
+        int current = limit.getLimit();
+        int allowed = cached ? current : Math.max(1, (int) (current * dbShare));
+
+        int now = inflight.incrementAndGet();
+        if (now > allowed) {
+            inflight.decrementAndGet();
+            (cached ? rejectedCached : rejectedDb).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is overloaded, retry shortly");
+            return false;
+        }
+        request.setAttribute(STARTED, System.nanoTime());
+        request.setAttribute(INFLIGHT, now);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object started = request.getAttribute(STARTED);
+        if (started == null) {
+            return;
+        }
+        request.removeAttribute(STARTED);
+        inflight.decrementAndGet();
+        boolean dropped = ex != null || response.getStatus() >= 500;
+        limit.onSample(System.nanoTime() - (Long) started, (Integer) request.getAttribute(INFLIGHT), dropped);
+    }
+
+    private boolean isCachedRead(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : cachedPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,6 +2,7 @@ package com.cheko.backend.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -17,24 +18,37 @@ public class CorsConfig implements WebMvcConfigurer {
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
                 .allowedOriginPatterns("*") // Allow all origins for development
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(ReadYourWrites.HEADER, HttpHeaders.ETAG)
                 .allowCredentials(false) // Set to false to work with "*"
                 .maxAge(3600);
     }
 
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", apiCorsConfiguration());
+        
+        return source;
+    }
+
+    // Shared with the reactive read API port (ReactiveServerConfig)
+    static CorsConfiguration apiCorsConfiguration() {
         CorsConfiguration configuration = new CorsConfiguration();
         
         // Allow all origins for development (restrict in production)
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         
         // Allow specific HTTP methods
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         
         // Allow all headers
         configuration.setAllowedHeaders(Arrays.asList("*"));
+
+        // Lets browser clients read the token and send it back on their next reads,
+        // and read ETags to send as If-Match on PATCH
+        configuration.setExposedHeaders(Arrays.asList(ReadYourWrites.HEADER, HttpHeaders.ETAG));
         
         // Allow credentials (cookies, authorization headers) - set to false for development with "*"
         configuration.setAllowCredentials(false);
@@ -42,9 +56,6 @@ public class CorsConfig implements WebMvcConfigurer {
         // Cache preflight response for 1 hour
         configuration.setMaxAge(3600L);
 
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/api/**", configuration);
-        
-        return source;
+        return configuration;
     }
 }
@@ -0,0 +1,128 @@
+package com.cheko.backend.config;
+
+import com.cheko.backend.service.NodeIdentity;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Primary pool from spring.datasource.*, smaller primary pools for admin and job traffic (cheko.bulkhead.*),
+// optional read replica pools from cheko.datasource.replica.*, combined into one routing DataSource (see DataSourceRouter).
+// The primary pool is a bean closed by Spring; the other pools are not beans, so they are closed here on shutdown.
+@Configuration
+public class DataSourceConfig implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    static final String APPLICATION_NAME = "ApplicationName";
+
+    private final List<HikariDataSource> extraPools = new CopyOnWriteArrayList<>();
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(DataSourceRouter.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 DataSourceProperties properties,
+                                 DataSourceRouter router,
+                                 MeterRegistry meterRegistry,
+                                 NodeIdentity nodeIdentity,
+                                 @Value("${cheko.datasource.replica.urls:}") List<String> replicaUrls,
+                                 @Value("${cheko.datasource.replica.username:}") String replicaUsername,
+                                 @Value("${cheko.datasource.replica.password:}") String replicaPassword,
+                                 @Value("${cheko.datasource.replica.maximum-pool-size:20}") int replicaPoolSize,
+                                 @Value("${cheko.bulkhead.admin.pool-size:5}") int adminPoolSize,
+                                 @Value("${cheko.bulkhead.jobs.pool-size:4}") int jobsPoolSize) {
+        // Sessions are tagged with the node id so the pg-notify listener can skip this node's own writes
+        String applicationName = primaryDataSource.getDataSourceProperties().getProperty(APPLICATION_NAME);
+        if (applicationName == null || applicationName.isBlank()) {
+            primaryDataSource.addDataSourceProperty(APPLICATION_NAME, nodeIdentity.getId());
+        }
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRouter.PRIMARY, primaryDataSource);
+
+        // Separate primary pools per traffic class (0 = share the main pool)
+        addClassPool(targets, router, meterRegistry, primaryDataSource, TrafficClass.ADMIN, adminPoolSize);
+        addClassPool(targets, router, meterRegistry, primaryDataSource, TrafficClass.JOBS, jobsPoolSize);
+
+        int index = 0;
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (++index);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(name);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername);
+            replica.setPassword(replicaPassword.isEmpty() ? properties.determinePassword() : replicaPassword);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            extraPools.add(replica);
+            targets.put(name, replica);
+            router.addReplica(name, replica);
+        }
+
+        RoutingDataSource routing = new RoutingDataSource(router);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Runs after the dataSource bean (and everything using it) is destroyed, since that bean depends on this class
+    @Override
+    public void destroy() {
+        for (HikariDataSource pool : extraPools) {
+            try {
+                pool.close();
+            } catch (RuntimeException e) {
+                log.warn("Could not close connection pool {}: {}", pool.getPoolName(), e.getMessage());
+            }
+        }
+        extraPools.clear();
+    }
+
+    private void addClassPool(Map<Object, Object> targets, DataSourceRouter router, MeterRegistry meterRegistry,
+                                     HikariDataSource primaryDataSource, TrafficClass trafficClass, int poolSize) {
+        if (poolSize <= 0) {
+            return;
+        }
+        HikariConfig config = new HikariConfig();
+        primaryDataSource.copyStateTo(config);
+        String name = DataSourceRouter.PRIMARY + "-" + trafficClass.key();
+        config.setPoolName(name);
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(Math.min(config.getMinimumIdle(), poolSize));
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        HikariDataSource pool = new HikariDataSource(config);
+        extraPools.add(pool);
+        targets.put(name, pool);
+        router.addClassPool(trafficClass);
+    }
+}
@@ -0,0 +1,139 @@
+package com.cheko.backend.config;
+
+import com.cheko.backend.event.CatalogChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Decides which pool serves the current connection request (see RoutingDataSource):
+// read-only transactions go to a replica whose replication lag is within bounds, everything else
+// (writes, reads right after a catalog change, read-your-writes requests) to the primary.
+@Component
+public class DataSourceRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceRouter.class);
+
+    public static final String PRIMARY = "primary";
+
+    private static final String DEFAULT_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0) END";
+
+    private final List<Replica> replicas = new CopyOnWriteArrayList<>();
+    private final Map<TrafficClass, String> classPools = new EnumMap<>(TrafficClass.class);
+    private final AtomicInteger next = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+    private final Counter lagFallbacks;
+    private final long maxLagMs;
+    private final long readYourWritesMs;
+    private final String lagQuery;
+
+    // After a catalog change, cache refills must not read a replica that has not replayed it yet
+    private volatile long primaryUntil;
+
+    public DataSourceRouter(MeterRegistry meterRegistry,
+                            @Value("${cheko.datasource.replica.max-lag-ms:1000}") long maxLagMs,
+                            @Value("${cheko.datasource.read-your-writes-ms:5000}") long readYourWritesMs,
+                            @Value("${cheko.datasource.replica.lag-query:}") String lagQuery) {
+        this.meterRegistry = meterRegistry;
+        this.maxLagMs = maxLagMs;
+        this.readYourWritesMs = readYourWritesMs;
+        this.lagQuery = lagQuery.isBlank() ? DEFAULT_LAG_QUERY : lagQuery;
+        this.lagFallbacks = meterRegistry.counter("cheko.datasource.replica.fallbacks");
+    }
+
+    void addReplica(String name, DataSource dataSource) {
+        Replica replica = new Replica(name, dataSource);
+        replicas.add(replica);
+        meterRegistry.gauge("cheko.datasource.replica.lag", Tags.of("replica", name), replica, r -> r.lagMs);
+    }
+
+    Object route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWrites.markWrite(readYourWritesMs);
+            }
+            return primary();
+        }
+        if (replicas.isEmpty() || System.currentTimeMillis() < primaryUntil || ReadYourWrites.isPrimaryRequired()) {
+            return primary();
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.name;
+            }
+        }
+        lagFallbacks.increment();
+        return primary();
+    }
+
+    void addClassPool(TrafficClass trafficClass) {
+        classPools.put(trafficClass, PRIMARY + "-" + trafficClass.key());
+    }
+
+    // Admin and job work has its own primary pool (if configured), so it cannot drain the customer pool
+    private Object primary() {
+        return classPools.getOrDefault(TrafficClass.current(), PRIMARY);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        primaryUntil = System.currentTimeMillis() + readYourWritesMs;
+    }
+
+    // Replicas over the lag threshold, or unreachable, are skipped until they catch up
+    @Scheduled(fixedDelayString = "${cheko.datasource.replica.lag-check-interval-ms:2000}")
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(lagQuery)) {
+                replica.lagMs = result.next() ? result.getDouble(1) : 0;
+                boolean healthy = replica.lagMs <= maxLagMs;
+                if (healthy != replica.healthy) {
+                    log.info("Replica {} {} (lag {} ms)", replica.name, healthy ? "back in rotation" : "taken out of rotation",
+                            (long) replica.lagMs);
+                }
+                replica.healthy = healthy;
+            } catch (SQLException e) {
+                if (replica.healthy) {
+                    log.warn("Replica {} taken out of rotation: {}", replica.name, e.getMessage());
+                }
+                replica.healthy = false;
+                replica.lagMs = -1;
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile double lagMs = -1;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.cheko.backend.config;
+
+import com.cheko.backend.controller.ReactiveCatalogHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+// Reactive read API (cheko.reactive.enabled=true): the menu and map GET endpoints served by WebFlux
+// functional routes on a separate Reactor Netty port, reading through R2DBC. A handful of event-loop threads
+// serve any number of connections; the servlet application (MVC/JPA, all writes) keeps running unchanged.
+@Configuration
+@ConditionalOnProperty(name = "cheko.reactive.enabled", havingValue = "true")
+public class ReactiveServerConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveServerConfig.class);
+
+    // Defaults to the JDBC URL with the r2dbc scheme, and the same credentials
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionFactory(DataSourceProperties dataSourceProperties,
+                                                    @Value("${cheko.reactive.r2dbc-url:}") String r2dbcUrl,
+                                                    @Value("${cheko.reactive.pool-size:20}") int poolSize) {
+        String url = r2dbcUrl.isBlank() ? dataSourceProperties.getUrl().replaceFirst("^jdbc:", "r2dbc:") : r2dbcUrl;
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword())
+                .build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("reactive")
+                .maxSize(poolSize)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ConnectionFactory reactiveConnectionFactory) {
+        return DatabaseClient.create(reactiveConnectionFactory);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveCatalogRoutes(ReactiveCatalogHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/menu", menu -> menu
+                        .GET("/items", handler::getAllItems)
+                        .GET("/items/search", handler::searchItems)
+                        .GET("/items/filter", handler::filterItems)
+                        .GET("/items/best-sellers", handler::getBestSellers)
+                        .GET("/items/{id}", handler::getItemById)
+                        .GET("/categories", handler::getAllCategories))
+                .path("/api/map", map -> map
+                        .GET("/markers", handler::getAllMarkers)
+                        .GET("/markers/search", handler::searchMarkers)
+                        .GET("/markers/filter", handler::filterMarkers)
+                        .GET("/markers/nearby", handler::getNearbyMarkers)
+                        .GET("/cities", handler::getAvailableCities)
+                        .GET("/states", handler::getAvailableStates))
+                .build();
+    }
+
+    @Bean
+    public ReactiveServer reactiveServer(RouterFunction<ServerResponse> reactiveCatalogRoutes, ObjectMapper objectMapper,
+                                         @Value("${cheko.reactive.port:8081}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .webFilter(corsFilter())
+                .build();
+        return new ReactiveServer(RouterFunctions.toHttpHandler(reactiveCatalogRoutes, strategies), port);
+    }
+
+    // Same CORS policy as the servlet port, so browser clients can switch ports freely
+    private static CorsWebFilter corsFilter() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", CorsConfig.apiCorsConfiguration());
+        return new CorsWebFilter(source);
+    }
+
+    // Runs the Netty server alongside the servlet container, started and stopped with the application context
+    public static class ReactiveServer implements SmartLifecycle {
+
+        private final HttpHandler httpHandler;
+        private final int port;
+        private volatile DisposableServer server;
+
+        ReactiveServer(HttpHandler httpHandler, int port) {
+            this.httpHandler = httpHandler;
+            this.port = port;
+        }
+
+        @Override
+        public void start() {
+            server = HttpServer.create()
+                    .port(port)
+                    .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                    .bindNow();
+            log.info("Reactive read API listening on port {}", server.port());
+        }
+
+        @Override
+        public void stop() {
+            DisposableServer current = server;
+            if (current != null) {
+                current.disposeNow(Duration.ofSeconds(10));
+                server = null;
+            }
+        }
+
+        @Override
+        public boolean isRunning() {
+            return server != null;
+        }
+    }
+}
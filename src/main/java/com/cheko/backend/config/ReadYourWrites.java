@@ -0,0 +1,75 @@
+package com.cheko.backend.config;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.function.Supplier;
+
+// Per-request read-your-writes state for datasource routing.
+// A request that writes gets an X-Read-Your-Writes token (its write time); requests presenting a recent
+// token read from the primary, so a client sees its own change even while replicas lag behind.
+public final class ReadYourWrites {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    private static final ThreadLocal<Context> CONTEXT = new ThreadLocal<>();
+
+    private ReadYourWrites() {}
+
+    static void begin(HttpServletResponse response, long primaryUntil) {
+        CONTEXT.set(new Context(response, primaryUntil));
+    }
+
+    static void end() {
+        CONTEXT.remove();
+    }
+
+    // True while reads of the current request must see the primary
+    static boolean isPrimaryRequired() {
+        Context context = CONTEXT.get();
+        return context != null && System.currentTimeMillis() < context.primaryUntil;
+    }
+
+    // Called when the current request writes: hand out a token and read from the primary from now on
+    static void markWrite(long windowMs) {
+        Context context = CONTEXT.get();
+        if (context == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        context.primaryUntil = Math.max(context.primaryUntil, now + windowMs);
+        if (context.response != null && !context.response.isCommitted()) {
+            context.response.setHeader(HEADER, String.valueOf(now));
+        }
+    }
+
+    // Carries the caller's state into a loader that runs on another thread
+    public static <T> Supplier<T> wrap(Supplier<T> loader) {
+        Context captured = CONTEXT.get();
+        if (captured == null) {
+            return loader;
+        }
+        return () -> {
+            Context previous = CONTEXT.get();
+            CONTEXT.set(new Context(null, captured.primaryUntil)); // no response: it belongs to the caller
+            try {
+                return loader.get();
+            } finally {
+                if (previous != null) {
+                    CONTEXT.set(previous);
+                } else {
+                    CONTEXT.remove();
+                }
+            }
+        };
+    }
+
+    private static final class Context {
+        private final HttpServletResponse response;
+        private volatile long primaryUntil;
+
+        private Context(HttpServletResponse response, long primaryUntil) {
+            this.response = response;
+            this.primaryUntil = primaryUntil;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.cheko.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Reads the X-Read-Your-Writes token of the request into ReadYourWrites for datasource routing
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    @Value("${cheko.datasource.read-your-writes-ms:5000}")
+    private long windowMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long primaryUntil = 0;
+        String token = request.getHeader(ReadYourWrites.HEADER);
+        if (token != null) {
+            try {
+                // A token from the future is clamped, so it cannot pin reads to the primary for long
+                long writtenAt = Math.min(Long.parseLong(token.trim()), System.currentTimeMillis());
+                primaryUntil = writtenAt + windowMs;
+            } catch (NumberFormatException e) {
+                // ignore malformed tokens
+            }
+        }
+
+        ReadYourWrites.begin(response, primaryUntil);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.end();
+        }
+    }
+}
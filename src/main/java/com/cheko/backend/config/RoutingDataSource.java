@@ -0,0 +1,19 @@
+package com.cheko.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// Routes each physical connection request through DataSourceRouter.
+// Used behind a LazyConnectionDataSourceProxy, so the transaction's read-only flag is known by then.
+class RoutingDataSource extends AbstractRoutingDataSource {
+
+    private final DataSourceRouter router;
+
+    RoutingDataSource(DataSourceRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return router.route();
+    }
+}
@@ -1,12 +1,33 @@
 package com.cheko.backend.config;
 
+import com.cheko.backend.util.ThreadFactories;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ThreadFactory;
 
 @Configuration
 @EnableScheduling
 public class SchedulingConfig {
     // This configuration enables Spring's scheduled task execution capability
     // Used for the best seller recalculation scheduled task in ItemService
-}
 
+    // Scheduled jobs run on their own threads, tagged as JOBS traffic so their database work
+    // uses the jobs connection pool instead of competing with customer requests
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${cheko.bulkhead.jobs.threads:2}") int threads,
+                                                 @Value("${cheko.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadFactory threadFactory = ThreadFactories.named("scheduling", virtualThreads);
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(threads);
+        scheduler.setThreadFactory(runnable -> threadFactory.newThread(() -> {
+            TrafficClass.set(TrafficClass.JOBS);
+            runnable.run();
+        }));
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        return scheduler;
+    }
+}
@@ -0,0 +1,32 @@
+package com.cheko.backend.config;
+
+import java.util.Locale;
+
+// Traffic classes isolated from each other by bulkheads: each has its own request concurrency limit
+// (BulkheadFilter) or thread pool (scheduled jobs), and its own connection pool for primary work.
+public enum TrafficClass {
+
+    PUBLIC,
+    ADMIN,
+    JOBS;
+
+    private static final ThreadLocal<TrafficClass> CURRENT = new ThreadLocal<>();
+
+    // Work that is not classified (e.g. internal background threads) counts as public
+    public static TrafficClass current() {
+        TrafficClass current = CURRENT.get();
+        return current != null ? current : PUBLIC;
+    }
+
+    static void set(TrafficClass trafficClass) {
+        CURRENT.set(trafficClass);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
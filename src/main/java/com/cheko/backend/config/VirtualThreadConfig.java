@@ -0,0 +1,84 @@
+package com.cheko.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+// Opt-in serving mode (cheko.threads.virtual.enabled=true): every Tomcat request runs on its own virtual
+// thread instead of the bounded worker pool. Scheduled jobs and the application's executors switch too
+// (see ThreadFactories). server.tomcat.threads.max no longer caps concurrency; the bulkheads
+// (BulkheadFilter), the adaptive limiter and the connection pools do.
+@Configuration
+@ConditionalOnProperty(name = "cheko.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Serving requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // Reports virtual threads pinned to their carrier (blocking inside synchronized or native frames),
+    // e.g. a driver or pool still guarding JDBC calls with monitors. Each distinct pinning site is logged once
+    // with its stack; cheko.threads.pinned counts every occurrence.
+    @Component
+    @ConditionalOnProperty(name = "cheko.threads.virtual.enabled", havingValue = "true")
+    public static class PinningMonitor implements DisposableBean {
+
+        private final RecordingStream recording;
+        private final Counter pinned;
+        private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+        public PinningMonitor(MeterRegistry meterRegistry,
+                              @Value("${cheko.threads.pinned-threshold-ms:20}") long thresholdMs) {
+            this.pinned = meterRegistry.counter("cheko.threads.pinned");
+            this.recording = new RecordingStream();
+            recording.enable("jdk.VirtualThreadPinned")
+                    .withThreshold(Duration.ofMillis(thresholdMs))
+                    .withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+            recording.startAsync();
+        }
+
+        @Override
+        public void destroy() {
+            recording.close();
+        }
+
+        private void onPinned(RecordedEvent event) {
+            pinned.increment();
+            if (event.getStackTrace() == null) {
+                return;
+            }
+            String stack = event.getStackTrace().getFrames().stream()
+                    .filter(RecordedFrame::isJavaFrame)
+                    .limit(12)
+                    .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                            + ":" + frame.getLineNumber())
+                    .collect(Collectors.joining("\n    at "));
+            if (reportedSites.add(stack)) {
+                log.warn("Virtual thread pinned for {} ms:\n    at {}", event.getDuration().toMillis(), stack);
+            }
+        }
+    }
+}
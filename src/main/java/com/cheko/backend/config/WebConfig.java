@@ -0,0 +1,21 @@
+package com.cheko.backend.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    // Load shedding for the customer-facing APIs; the event stream holds no request thread, so it is left out
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/api/menu/**", "/api/map/**")
+                .excludePathPatterns("/api/menu/stream");
+    }
+}
@@ -0,0 +1,105 @@
+package com.cheko.backend.controller;
+
+import com.cheko.backend.dto.ItemBulkUpdateDto;
+import com.cheko.backend.dto.ItemBulkUpdateResultDto;
+import com.cheko.backend.dto.ItemImportResultDto;
+import com.cheko.backend.dto.SearchAnalyticsDto;
+import com.cheko.backend.service.ItemBulkUpdateService;
+import com.cheko.backend.service.ItemImportService;
+import com.cheko.backend.service.SearchAnalyticsService;
+import com.cheko.backend.service.SearchResultCache;
+import com.cheko.backend.service.SearchWarmupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Administration", description = "Operational insight into search and caching")
+public class AdminController {
+
+    @Autowired
+    private SearchAnalyticsService searchAnalyticsService;
+
+    @Autowired
+    private SearchWarmupService searchWarmupService;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemBulkUpdateService itemBulkUpdateService;
+
+    // Most frequent and zero-result search queries
+    @Operation(summary = "Search analytics", description = "Heavy-hitter search queries (including zero-result queries) and the queries kept warm")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved search analytics")
+    })
+    @GetMapping("/search-analytics")
+    public ResponseEntity<SearchAnalyticsDto> getSearchAnalytics(@RequestParam(defaultValue = "20") int top) {
+        SearchAnalyticsDto report = searchAnalyticsService.getReport(top);
+        report.setWarmedQueries(searchWarmupService.getWarmedQueries());
+        return ResponseEntity.ok(report);
+    }
+
+    // Hit/miss counts of the search result caches
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        Map<String, Map<String, Object>> response = new LinkedHashMap<>();
+        searchResultCache.stats().forEach((name, stats) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("hits", stats.hitCount());
+            entry.put("misses", stats.missCount());
+            entry.put("hitRate", stats.hitRate());
+            entry.put("evictions", stats.evictionCount());
+            response.put(name, entry);
+        });
+        return ResponseEntity.ok(response);
+    }
+
+    // Bulk import of menu items from a JSON array; invalid rows are reported, valid rows are inserted
+    @Operation(summary = "Bulk import items (JSON)",
+               description = "Streams a JSON array of items (categoryId or categoryName) and inserts valid rows in JDBC batches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished; see failed and errors for rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Body is not a JSON array")
+    })
+    @PostMapping(value = "/items/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ItemImportResultDto> importItemsJson(InputStream body) throws IOException {
+        return ResponseEntity.ok(itemImportService.importJson(body));
+    }
+
+    // Bulk import of menu items from CSV with a header line
+    @Operation(summary = "Bulk import items (CSV)",
+               description = "Streams CSV with a header (name, description, price, calories, imageUrl, categoryId or category, isAvailable)")
+    @PostMapping(value = "/items/import", consumes = "text/csv")
+    public ResponseEntity<ItemImportResultDto> importItemsCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(itemImportService.importCsv(body));
+    }
+
+    // Applies one patch to every active item matching the filter, as a single UPDATE
+    @Operation(summary = "Bulk update items",
+               description = "Filter by category, ids, availability and calorie range; patch availability, price " +
+                             "(percent and/or delta) and image URL. Returns the ids of the updated items.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Items updated"),
+            @ApiResponse(responseCode = "400", description = "Empty filter or empty patch")
+    })
+    @PostMapping("/items/bulk-update")
+    public ResponseEntity<ItemBulkUpdateResultDto> bulkUpdateItems(@RequestBody ItemBulkUpdateDto request) {
+        return ResponseEntity.ok(itemBulkUpdateService.update(request));
+    }
+}
@@ -2,6 +2,9 @@ package com.cheko.backend.controller;
 
 import com.cheko.backend.dto.MapMarkerDto;
 import com.cheko.backend.service.LocationService;
+import com.cheko.backend.service.SearchAnalyticsService;
+import com.cheko.backend.service.SnapshotReadGuard;
+import com.cheko.backend.service.SnapshotReadGuard.SnapshotRead;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
@@ -23,6 +27,13 @@ public class MapController {
     @Autowired
     private LocationService locationService;
 
+    @Autowired
+    private SearchAnalyticsService searchAnalyticsService;
+
+    // Customer-facing reads fall back to the last good snapshot when the database is slow or down
+    @Autowired
+    private SnapshotReadGuard snapshotReadGuard;
+
     // Get all markers for initial map load
     @Operation(summary = "Get all map markers", 
                description = "🗺️ Get all branch locations as markers for Mapbox GL JS map display")
@@ -31,28 +42,35 @@ public class MapController {
     })
     @GetMapping("/markers")
     public ResponseEntity<List<MapMarkerDto>> getAllMarkers() {
-        return ResponseEntity.ok(locationService.getAllMapMarkers());
+        return SnapshotResponses.ok(snapshotReadGuard.readCached("map.markers", locationService::getAllMapMarkers));
     }
 
     // Search markers globally (branch name, address, description)
     @GetMapping("/markers/search")
     public ResponseEntity<List<MapMarkerDto>> searchMarkers(
             @RequestParam(required = false) String q) {
-        return ResponseEntity.ok(locationService.searchMapMarkers(q));
+        SnapshotRead<List<MapMarkerDto>> read = snapshotReadGuard.readCached("map.markers.search",
+                Arrays.asList("map.markers.search", q), () -> locationService.searchMapMarkers(q));
+        searchAnalyticsService.record(SearchAnalyticsService.SCOPE_MARKERS, q, read.getValue().size());
+        return SnapshotResponses.ok(read);
     }
 
     // Search markers by branch name
     @GetMapping("/markers/search/branch")
     public ResponseEntity<List<MapMarkerDto>> searchMarkersByBranch(
             @RequestParam String q) {
-        return ResponseEntity.ok(locationService.searchMarkersByBranchName(q));
+        List<MapMarkerDto> results = locationService.searchMarkersByBranchName(q);
+        searchAnalyticsService.record(SearchAnalyticsService.SCOPE_MARKERS, q, results.size());
+        return ResponseEntity.ok(results);
     }
 
     // Search markers by address
     @GetMapping("/markers/search/address")
     public ResponseEntity<List<MapMarkerDto>> searchMarkersByAddress(
             @RequestParam String q) {
-        return ResponseEntity.ok(locationService.searchMarkersByAddress(q));
+        List<MapMarkerDto> results = locationService.searchMarkersByAddress(q);
+        searchAnalyticsService.record(SearchAnalyticsService.SCOPE_MARKERS, q, results.size());
+        return ResponseEntity.ok(results);
     }
 
     // Filter markers by city
@@ -63,12 +81,15 @@ public class MapController {
             @RequestParam(required = false) Boolean active) {
         
         if (city != null) {
-            return ResponseEntity.ok(locationService.filterMarkersByCity(city));
+            return SnapshotResponses.ok(snapshotReadGuard.readCached("map.markers.filter", List.of("map.markers.city", city),
+                    () -> locationService.filterMarkersByCity(city)));
         } else if (state != null) {
-            return ResponseEntity.ok(locationService.filterMarkersByState(state));
+            return SnapshotResponses.ok(snapshotReadGuard.readCached("map.markers.filter", List.of("map.markers.state", state),
+                    () -> locationService.filterMarkersByState(state)));
         } else {
             // If no specific filter, return all with active filter
-            return ResponseEntity.ok(locationService.searchAndFilterMapMarkers(null, null, null, active));
+            return SnapshotResponses.ok(snapshotReadGuard.readCached("map.markers.filter", Arrays.asList("map.markers.active", active),
+                    () -> locationService.searchAndFilterMapMarkers(null, null, null, active)));
         }
     }
 
@@ -80,7 +101,11 @@ public class MapController {
             @RequestParam(required = false) String state,  // State filter  
             @RequestParam(required = false) Boolean active) { // Active filter
         
-        return ResponseEntity.ok(locationService.searchAndFilterMapMarkers(q, city, state, active));
+        SnapshotRead<List<MapMarkerDto>> read = snapshotReadGuard.readCached("map.markers.combined",
+                Arrays.asList("map.markers.combined", q, city, state, active),
+                () -> locationService.searchAndFilterMapMarkers(q, city, state, active));
+        searchAnalyticsService.record(SearchAnalyticsService.SCOPE_MARKERS, q, read.getValue().size());
+        return SnapshotResponses.ok(read);
     }
 
     // Find nearby markers using radius
@@ -96,12 +121,12 @@ public class MapController {
     // Get unique cities for filter dropdown
     @GetMapping("/cities")
     public ResponseEntity<List<String>> getAvailableCities() {
-        return ResponseEntity.ok(locationService.getAvailableCities());
+        return SnapshotResponses.ok(snapshotReadGuard.read("map.cities", locationService::getAvailableCities));
     }
 
     // Get unique states for filter dropdown
     @GetMapping("/states")
     public ResponseEntity<List<String>> getAvailableStates() {
-        return ResponseEntity.ok(locationService.getAvailableStates());
+        return SnapshotResponses.ok(snapshotReadGuard.read("map.states", locationService::getAvailableStates));
     }
 }
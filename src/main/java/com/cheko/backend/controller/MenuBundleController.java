@@ -0,0 +1,166 @@
+package com.cheko.backend.controller;
+
+import com.cheko.backend.service.MenuBundleService;
+import com.cheko.backend.service.MenuBundleService.MenuBundle;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+// Serves the precomputed menu bundle (see MenuBundleService) like a static file:
+// conditional requests via ETag, single byte ranges, and zero-copy transfer of the file contents
+// (Tomcat sendfile when the connector supports it, FileChannel.transferTo otherwise).
+@RestController
+@RequestMapping("/api/menu")
+@CrossOrigin(origins = "*") // Allow all origins for development
+@Tag(name = "Menu Management", description = "APIs for managing menu items, search, filter, and calorie analysis")
+public class MenuBundleController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private MenuBundleService menuBundleService;
+
+    @Value("${cheko.bundle.max-age-seconds:30}")
+    private long maxAgeSeconds;
+
+    // Full offline menu (categories, items, best sellers, second-highest calorie picks) as one artifact
+    @Operation(summary = "Get the offline menu bundle",
+               description = "Gzip-compressed JSON of the full menu, versioned like /api/menu/changes. " +
+                             "Supports If-None-Match and Range requests.")
+    @GetMapping("/bundle")
+    public void getMenuBundle(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MenuBundle bundle = menuBundleService.current().orElse(null);
+        if (bundle == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Menu bundle is being built");
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, bundle.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, bundle.lastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + maxAgeSeconds);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader("X-Menu-Version", String.valueOf(bundle.version()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), bundle.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            // Rare: clients that cannot take the stored encoding get it decompressed on the fly
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(bundle.path()))) {
+                in.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long length = bundle.length();
+        long start = 0;
+        long end = length; // exclusive
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(bundle.etag()))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+        response.setContentLengthLong(end - start);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat sends the file region from the kernel after this method returns
+            request.setAttribute(SENDFILE_FILENAME, bundle.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(bundle.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += file.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // {start, endExclusive} for a single satisfiable range, {} to send the whole file
+    // (multiple or malformed ranges), or null if the range cannot be satisfied
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.contains(",")) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, length - suffix), length};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length : Math.min(Long.parseLong(last) + 1, length);
+            if (start >= length || end <= start) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -2,24 +2,40 @@ package com.cheko.backend.controller;
 
 import com.cheko.backend.dto.CategoryDto;
 import com.cheko.backend.dto.ItemDto;
+import com.cheko.backend.dto.MenuChangesDto;
 import com.cheko.backend.dto.SecondHighestCalorieDto;
 import com.cheko.backend.service.CalorieAnalysisService;
 import com.cheko.backend.service.CategoryService;
 import com.cheko.backend.service.ItemService;
+import com.cheko.backend.service.MenuStreamService;
+import com.cheko.backend.service.MenuSyncService;
+import com.cheko.backend.service.SearchAnalyticsService;
+import com.cheko.backend.service.SnapshotReadGuard;
+import com.cheko.backend.service.SnapshotReadGuard.SnapshotRead;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/menu")
@@ -36,6 +52,19 @@ public class MenuController {
     @Autowired
     private CalorieAnalysisService calorieAnalysisService;
 
+    @Autowired
+    private SearchAnalyticsService searchAnalyticsService;
+
+    @Autowired
+    private MenuStreamService menuStreamService;
+
+    @Autowired
+    private MenuSyncService menuSyncService;
+
+    // Customer-facing reads fall back to the last good snapshot when the database is slow or down
+    @Autowired
+    private SnapshotReadGuard snapshotReadGuard;
+
     // Get all menu items (paginated)
     @Operation(summary = "Get all menu items", description = "Retrieve all menu items with pagination support")
     @ApiResponses(value = {
@@ -44,20 +73,23 @@ public class MenuController {
     @GetMapping("/items")
     public ResponseEntity<Page<ItemDto>> getAllItems(
             @Parameter(description = "Pagination parameters") @PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        return ResponseEntity.ok(itemService.getAllItems(pageable));
+        return SnapshotResponses.ok(snapshotReadGuard.readCached("menu.items", List.of("menu.items", pageable),
+                () -> itemService.getAllItems(pageable)));
     }
 
     // Get item details by ID (for popup)
     @GetMapping("/items/{id}")
     public ResponseEntity<ItemDto> getItemById(@PathVariable Long id) {
         return itemService.getItemById(id)
-                .map(ResponseEntity::ok)
+                .map(item -> ResponseEntity.ok().eTag(String.valueOf(item.getVersion())).body(item))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // Search items by name OR description (main search requirement)
     @Operation(summary = "Search menu items", 
-               description = "🔍 MAIN SEARCH REQUIREMENT: Search menu items by name OR description containing the query string (e.g., 'soup')")
+               description = "🔍 MAIN SEARCH REQUIREMENT: Search menu items by name OR description containing the query string (e.g., 'soup'). " +
+                             "Set fuzzy=true to tolerate typos (e.g., 'croisant'). When an exact search finds nothing, " +
+                             "a spelling suggestion is returned in the X-Did-You-Mean header.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved search results")
     })
@@ -65,8 +97,41 @@ public class MenuController {
     public ResponseEntity<Page<ItemDto>> searchItems(
             @Parameter(description = "Search query - searches in item name OR description", example = "soup") 
             @RequestParam(required = false) String q,
+            @Parameter(description = "Typo-tolerant matching on item names") @RequestParam(defaultValue = "false") boolean fuzzy,
+            @Parameter(description = "Order by relevance blended with popularity instead of name") @RequestParam(defaultValue = "false") boolean ranked,
             @Parameter(description = "Pagination parameters") @PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        return ResponseEntity.ok(itemService.searchItems(q, pageable));
+        SnapshotRead<Page<ItemDto>> read;
+        if (fuzzy) {
+            read = snapshotReadGuard.read("menu.items.fuzzy", List.of("menu.items.fuzzy", String.valueOf(q), pageable),
+                    () -> itemService.fuzzySearchItems(q, pageable));
+        } else if (ranked) {
+            read = snapshotReadGuard.read("menu.items.ranked", List.of("menu.items.ranked", String.valueOf(q), pageable),
+                    () -> itemService.rankedSearchItems(q, pageable));
+        } else {
+            read = snapshotReadGuard.readCached("menu.items.search", List.of("menu.items.search", String.valueOf(q), pageable),
+                    () -> itemService.searchItems(q, pageable));
+        }
+        Page<ItemDto> results = read.getValue();
+        searchAnalyticsService.record(SearchAnalyticsService.SCOPE_ITEMS, q, results.getTotalElements());
+
+        if (!fuzzy && results.getTotalElements() == 0) {
+            Optional<String> suggestion = itemService.suggestQuery(q);
+            if (suggestion.isPresent()) {
+                return SnapshotResponses.builder(read)
+                        .header("X-Did-You-Mean", URLEncoder.encode(suggestion.get(), StandardCharsets.UTF_8))
+                        .body(results);
+            }
+        }
+        return SnapshotResponses.builder(read).body(results);
+    }
+
+    // "Did you mean" suggestion for a misspelled search query
+    @GetMapping("/items/search/suggest")
+    public ResponseEntity<Map<String, String>> suggestSearch(@RequestParam String q) {
+        Map<String, String> response = new HashMap<>();
+        response.put("query", q);
+        response.put("suggestion", itemService.suggestQuery(q).orElse(null));
+        return ResponseEntity.ok(response);
     }
 
     // Filter items by dish type (main filter requirement)
@@ -74,7 +139,8 @@ public class MenuController {
     public ResponseEntity<Page<ItemDto>> filterItems(
             @RequestParam(required = false) String type,
             @PageableDefault(size = 20, sort = "name") Pageable pageable) {
-        return ResponseEntity.ok(itemService.filterByDishType(type, pageable));
+        return SnapshotResponses.ok(snapshotReadGuard.readCached("menu.items.filter", List.of("menu.items.filter", String.valueOf(type), pageable),
+                () -> itemService.filterByDishType(type, pageable)));
     }
 
     // Combined search and filter (main combined requirement)
@@ -86,13 +152,40 @@ public class MenuController {
             @RequestParam(required = false) Boolean available,  // Available filter
             @PageableDefault(size = 20, sort = "name") Pageable pageable) {
         
-        return ResponseEntity.ok(itemService.searchAndFilter(q, type, bestSeller, available, pageable));
+        SnapshotRead<Page<ItemDto>> read = snapshotReadGuard.readCached("menu.items.combined",
+                Arrays.asList("menu.items.combined", q, type, bestSeller, available, pageable),
+                () -> itemService.searchAndFilter(q, type, bestSeller, available, pageable));
+        searchAnalyticsService.record(SearchAnalyticsService.SCOPE_ITEMS, q, read.getValue().getTotalElements());
+        return SnapshotResponses.ok(read);
     }
 
     // Get best seller items
     @GetMapping("/items/best-sellers")
     public ResponseEntity<List<ItemDto>> getBestSellers() {
-        return ResponseEntity.ok(itemService.getBestSellerItems());
+        return SnapshotResponses.ok(snapshotReadGuard.readCached("menu.best-sellers", itemService::getBestSellerItems));
+    }
+
+    // Delta sync: only what changed since the client's last sync
+    @Operation(summary = "Get menu changes since a version",
+               description = "Returns items and categories created, updated or deleted since the given version. " +
+                             "Without a usable version (missing, too old, unknown) a full snapshot is returned " +
+                             "with fullSnapshot=true. Pass the returned version as 'since' on the next call.")
+    @GetMapping("/changes")
+    public ResponseEntity<MenuChangesDto> getMenuChanges(
+            @Parameter(description = "Version from the previous sync") @RequestParam(required = false) Long since) {
+        return SnapshotResponses.ok(snapshotReadGuard.read("menu.changes", Arrays.asList("menu.changes", since),
+                () -> menuSyncService.getChangesSince(since)));
+    }
+
+    // Push availability and best-seller changes instead of polling /items
+    @Operation(summary = "Stream menu changes",
+               description = "Server-Sent Events: a 'ready' event with the current sync version, then an 'item' event " +
+                             "(id, change, isAvailable, isBestSeller) per changed item, including items whose best-seller " +
+                             "flag changed in a recalculation. An 'items' event (ids) follows a bulk update, and a 'best-sellers' " +
+                             "event (bestSellerIds) follows bulk item changes of unknown extent. Versions and event ids can be passed to /changes as 'since'.")
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMenuChanges() {
+        return menuStreamService.subscribe();
     }
 
     // Increment order count when item is ordered
@@ -110,7 +203,8 @@ public class MenuController {
     })
     @GetMapping("/second-highest-calorie")
     public ResponseEntity<Map<String, SecondHighestCalorieDto>> getSecondHighestCaloriePerCategory() {
-        return ResponseEntity.ok(calorieAnalysisService.getSecondHighestCaloriePerCategory());
+        return SnapshotResponses.ok(snapshotReadGuard.read("menu.second-highest-calorie",
+                calorieAnalysisService::getSecondHighestCaloriePerCategory));
     }
 
     // Get second-highest calorie for specific category
@@ -127,13 +221,13 @@ public class MenuController {
     // Get all categories (for frontend display)
     @GetMapping("/categories")
     public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+        return SnapshotResponses.ok(snapshotReadGuard.readCached("menu.categories", categoryService::getAllCategories));
     }
 
     // Get item count per category (for category cards display)
     @GetMapping("/categories/counts")
     public ResponseEntity<Map<String, Long>> getCategoryCounts() {
-        return ResponseEntity.ok(categoryService.getItemCountsByCategory());
+        return SnapshotResponses.ok(snapshotReadGuard.read("menu.category-counts", categoryService::getItemCountsByCategory));
     }
 
     // Manually refresh best sellers (admin endpoint)
@@ -169,25 +263,64 @@ public class MenuController {
     // Create new item (admin endpoint)
     @PostMapping("/items")
     public ResponseEntity<ItemDto> createItem(@RequestBody ItemDto itemDto) {
+        // Unknown category (400), unknown item (404) and duplicate name (409) carry their own status
         try {
             ItemDto createdItem = itemService.createItem(itemDto);
             return ResponseEntity.ok(createdItem);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.badRequest().build(); // missing required fields
         }
     }
 
     // Update item (admin endpoint)
     @PutMapping("/items/{id}")
     public ResponseEntity<ItemDto> updateItem(@PathVariable Long id, @RequestBody ItemDto itemDto) {
+        // Unknown category (400), unknown item (404) and duplicate name (409) carry their own status
         try {
             ItemDto updatedItem = itemService.updateItem(id, itemDto);
             return ResponseEntity.ok(updatedItem);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().build();
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.badRequest().build(); // missing required fields
         }
     }
 
+    // Partial update of an item (admin endpoint); If-Match carries the ETag from GET /items/{id}
+    @Operation(summary = "Patch menu item",
+               description = "Changes only the fields present in the body. Requires If-Match with the item's current ETag; " +
+                             "412 if the item changed since, 409 if the new name is taken.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Item updated; ETag holds the new version"),
+            @ApiResponse(responseCode = "409", description = "Another active item has this name"),
+            @ApiResponse(responseCode = "412", description = "Item was modified since the given version"),
+            @ApiResponse(responseCode = "428", description = "If-Match header missing")
+    })
+    @PatchMapping("/items/{id}")
+    public ResponseEntity<ItemDto> patchItem(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @RequestBody ItemDto patch) {
+        Long version = parseVersion(ifMatch);
+        if (version == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        ItemDto updatedItem = itemService.patchItem(id, version, patch);
+        return ResponseEntity.ok().eTag(String.valueOf(updatedItem.getVersion())).body(updatedItem);
+    }
+
+    // Partial update of a category (admin endpoint); If-Match carries the category's version
+    @Operation(summary = "Patch category",
+               description = "Changes only the fields present in the body. Requires If-Match with the category's version.")
+    @PatchMapping("/categories/{id}")
+    public ResponseEntity<CategoryDto> patchCategory(@PathVariable Long id,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     @RequestBody CategoryDto patch) {
+        Long version = parseVersion(ifMatch);
+        if (version == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        CategoryDto updatedCategory = categoryService.patchCategory(id, version, patch);
+        return ResponseEntity.ok().eTag(String.valueOf(updatedCategory.getVersion())).body(updatedCategory);
+    }
+
     // Delete item (admin endpoint)
     @DeleteMapping("/items/{id}")
     public ResponseEntity<Void> deleteItem(@PathVariable Long id) {
@@ -198,4 +331,23 @@ public class MenuController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // Version from an If-Match value such as "3" or W/"3"; null if absent or not a single version
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,166 @@
+package com.cheko.backend.controller;
+
+import com.cheko.backend.dto.MapMarkerDto;
+import com.cheko.backend.repository.ReactiveItemRepository;
+import com.cheko.backend.repository.ReactiveLocationRepository;
+import com.cheko.backend.service.LocationService;
+import com.cheko.backend.util.TextAnalyzer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+// Reactive counterparts of the MenuController / MapController GET endpoints (see ReactiveServerConfig).
+// Lists are streamed from R2DBC as they are read, as a JSON array or, with Accept: application/x-ndjson,
+// one JSON document per line. Paged endpoints take page/size but return the rows only, without Page totals.
+@Component
+@ConditionalOnProperty(name = "cheko.reactive.enabled", havingValue = "true")
+public class ReactiveCatalogHandler {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ReactiveItemRepository itemRepository;
+
+    @Autowired
+    private ReactiveLocationRepository locationRepository;
+
+    // Get all menu items (paginated)
+    public Mono<ServerResponse> getAllItems(ServerRequest request) {
+        int size = pageSize(request);
+        return stream(request, itemRepository.findAllItems(size, offset(request, size)));
+    }
+
+    // Get item details by ID
+    public Mono<ServerResponse> getItemById(ServerRequest request) {
+        Long id;
+        try {
+            id = Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return itemRepository.findById(id)
+                .flatMap(item -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(item))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    // Search items by name OR description
+    public Mono<ServerResponse> searchItems(ServerRequest request) {
+        Optional<String> query = request.queryParam("q").map(String::trim).filter(q -> !q.isEmpty());
+        if (query.isEmpty()) {
+            return getAllItems(request);
+        }
+        int size = pageSize(request);
+        return stream(request, itemRepository.searchByNameOrDescription(query.get(), TextAnalyzer.queryForm(query.get()),
+                size, offset(request, size)));
+    }
+
+    // Filter items by dish type
+    public Mono<ServerResponse> filterItems(ServerRequest request) {
+        Optional<String> type = request.queryParam("type");
+        if (type.isEmpty()) {
+            return stream(request, Flux.empty()); // like the servlet API: no type matches no category
+        }
+        int size = pageSize(request);
+        return stream(request, itemRepository.findByCategoryName(type.get(), size, offset(request, size)));
+    }
+
+    // Get best seller items
+    public Mono<ServerResponse> getBestSellers(ServerRequest request) {
+        return stream(request, itemRepository.findBestSellers());
+    }
+
+    // Get all categories
+    public Mono<ServerResponse> getAllCategories(ServerRequest request) {
+        return stream(request, itemRepository.findAllCategories());
+    }
+
+    // Get all markers for initial map load
+    public Mono<ServerResponse> getAllMarkers(ServerRequest request) {
+        return stream(request, withPopups(locationRepository.findAllActiveLocations()));
+    }
+
+    // Search markers globally (branch name, address, description)
+    public Mono<ServerResponse> searchMarkers(ServerRequest request) {
+        Optional<String> query = request.queryParam("q").map(String::trim).filter(q -> !q.isEmpty());
+        if (query.isEmpty()) {
+            return getAllMarkers(request);
+        }
+        return stream(request, withPopups(locationRepository.searchGlobal(query.get(), TextAnalyzer.queryForm(query.get()))));
+    }
+
+    // Filter markers by city or state
+    public Mono<ServerResponse> filterMarkers(ServerRequest request) {
+        Optional<String> city = request.queryParam("city");
+        if (city.isPresent()) {
+            return stream(request, withPopups(locationRepository.findByCity(city.get())));
+        }
+        Optional<String> state = request.queryParam("state");
+        if (state.isPresent()) {
+            return stream(request, withPopups(locationRepository.findByState(state.get())));
+        }
+        return getAllMarkers(request);
+    }
+
+    // Find nearby markers using radius (kilometers)
+    public Mono<ServerResponse> getNearbyMarkers(ServerRequest request) {
+        BigDecimal lat;
+        BigDecimal lng;
+        double radius;
+        try {
+            lat = new BigDecimal(request.queryParam("lat").orElseThrow(() -> new NumberFormatException("lat")));
+            lng = new BigDecimal(request.queryParam("lng").orElseThrow(() -> new NumberFormatException("lng")));
+            radius = Double.parseDouble(request.queryParam("radius").orElse("10"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+        return stream(request, withPopups(locationRepository.findByRadius(lat, lng, radius)));
+    }
+
+    // Get unique cities for filter dropdown
+    public Mono<ServerResponse> getAvailableCities(ServerRequest request) {
+        return stream(request, locationRepository.findDistinctCities());
+    }
+
+    // Get unique states for filter dropdown
+    public Mono<ServerResponse> getAvailableStates(ServerRequest request) {
+        return stream(request, locationRepository.findDistinctStates());
+    }
+
+    private static Flux<MapMarkerDto> withPopups(Flux<MapMarkerDto> markers) {
+        return markers.doOnNext(marker -> marker.setPopupContent(LocationService.createPopupContent(marker)));
+    }
+
+    private static <T> Mono<ServerResponse> stream(ServerRequest request, Flux<T> body) {
+        boolean ndjson = request.headers().accept().stream()
+                .anyMatch(type -> type.isCompatibleWith(MediaType.APPLICATION_NDJSON) && !type.isWildcardType());
+        return ServerResponse.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body, Object.class);
+    }
+
+    private static int pageSize(ServerRequest request) {
+        int size = intParam(request, "size", DEFAULT_PAGE_SIZE);
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static long offset(ServerRequest request, int size) {
+        return (long) Math.max(0, intParam(request, "page", 0)) * size;
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        try {
+            return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
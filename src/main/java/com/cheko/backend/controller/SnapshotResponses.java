@@ -0,0 +1,26 @@
+package com.cheko.backend.controller;
+
+import com.cheko.backend.service.SnapshotReadGuard.SnapshotRead;
+import org.springframework.http.ResponseEntity;
+
+// Maps guarded catalog reads to responses, flagging data served from a stale snapshot
+final class SnapshotResponses {
+
+    static final String STALE_HEADER = "X-Data-Stale";
+
+    private SnapshotResponses() {}
+
+    static <T> ResponseEntity<T> ok(SnapshotRead<T> read) {
+        return builder(read).body(read.getValue());
+    }
+
+    static ResponseEntity.BodyBuilder builder(SnapshotRead<?> read) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (read.isStale()) {
+            builder.header(STALE_HEADER, "true")
+                    .header("Age", String.valueOf(read.getAgeMillis() / 1000))
+                    .header("Warning", "110 - \"Response is Stale\"");
+        }
+        return builder;
+    }
+}
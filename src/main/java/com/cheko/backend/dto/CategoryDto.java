@@ -1,5 +1,7 @@
 package com.cheko.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 
 public class CategoryDto {
@@ -10,6 +12,9 @@ public class CategoryDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version; // Optimistic lock version, also sent as ETag; only set when read from the entity
+
     // Constructors
     public CategoryDto() {}
 
@@ -78,4 +83,12 @@ public class CategoryDto {
     public void setIconName(String iconName) {
         this.iconName = iconName;
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,126 @@
+package com.cheko.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Set-based update of menu items: every active item matching all given filter fields gets the patch
+public class ItemBulkUpdateDto {
+    private Filter filter = new Filter();
+    private Patch patch = new Patch();
+
+    // Constructors
+    public ItemBulkUpdateDto() {}
+
+    // Getters and Setters
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(Filter filter) {
+        this.filter = filter;
+    }
+
+    public Patch getPatch() {
+        return patch;
+    }
+
+    public void setPatch(Patch patch) {
+        this.patch = patch;
+    }
+
+    public static class Filter {
+        private Long categoryId;
+        private String categoryName;    // alternative to categoryId, case-insensitive
+        private List<Long> ids;
+        private Boolean isAvailable;
+        private Integer minCalories;
+        private Integer maxCalories;
+
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        public void setCategoryId(Long categoryId) {
+            this.categoryId = categoryId;
+        }
+
+        public String getCategoryName() {
+            return categoryName;
+        }
+
+        public void setCategoryName(String categoryName) {
+            this.categoryName = categoryName;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public void setIds(List<Long> ids) {
+            this.ids = ids;
+        }
+
+        public Boolean getIsAvailable() {
+            return isAvailable;
+        }
+
+        public void setIsAvailable(Boolean isAvailable) {
+            this.isAvailable = isAvailable;
+        }
+
+        public Integer getMinCalories() {
+            return minCalories;
+        }
+
+        public void setMinCalories(Integer minCalories) {
+            this.minCalories = minCalories;
+        }
+
+        public Integer getMaxCalories() {
+            return maxCalories;
+        }
+
+        public void setMaxCalories(Integer maxCalories) {
+            this.maxCalories = maxCalories;
+        }
+    }
+
+    public static class Patch {
+        private Boolean isAvailable;
+        private BigDecimal pricePercent; // e.g. 5 raises prices by 5%, -10 lowers them by 10%
+        private BigDecimal priceDelta;   // absolute change, applied after pricePercent
+        private String imageUrl;
+
+        public Boolean getIsAvailable() {
+            return isAvailable;
+        }
+
+        public void setIsAvailable(Boolean isAvailable) {
+            this.isAvailable = isAvailable;
+        }
+
+        public BigDecimal getPricePercent() {
+            return pricePercent;
+        }
+
+        public void setPricePercent(BigDecimal pricePercent) {
+            this.pricePercent = pricePercent;
+        }
+
+        public BigDecimal getPriceDelta() {
+            return priceDelta;
+        }
+
+        public void setPriceDelta(BigDecimal priceDelta) {
+            this.priceDelta = priceDelta;
+        }
+
+        public String getImageUrl() {
+            return imageUrl;
+        }
+
+        public void setImageUrl(String imageUrl) {
+            this.imageUrl = imageUrl;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.cheko.backend.dto;
+
+import java.util.List;
+
+public class ItemBulkUpdateResultDto {
+    private int updated;
+    private List<Long> ids;
+
+    // Constructors
+    public ItemBulkUpdateResultDto() {}
+
+    public ItemBulkUpdateResultDto(List<Long> ids) {
+        this.updated = ids.size();
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
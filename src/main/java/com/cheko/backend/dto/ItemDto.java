@@ -1,5 +1,7 @@
 package com.cheko.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -18,6 +20,12 @@ public class ItemDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version; // Optimistic lock version, also sent as ETag; only set when read from the entity
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double score; // Ranking score, only set for ranked search results (debugging aid)
+
     // Constructors
     public ItemDto() {}
 
@@ -141,5 +149,20 @@ public class ItemDto {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
 
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
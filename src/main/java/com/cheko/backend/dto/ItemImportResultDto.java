@@ -0,0 +1,85 @@
+package com.cheko.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ItemImportResultDto {
+    private int received;
+    private int imported;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>(); // capped; failed has the full count
+
+    // Constructors
+    public ItemImportResultDto() {}
+
+    // Getters and Setters
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public static class RowError {
+        private int row;       // 1-based position in the upload (data rows, header excluded)
+        private String name;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(int row, String name, String message) {
+            this.row = row;
+            this.name = name;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public void setRow(int row) {
+            this.row = row;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.cheko.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Full offline menu served as a precomputed file from /api/menu/bundle
+public class MenuBundleDto {
+    private long version; // same version space as /api/menu/changes?since=
+    private List<CategoryDto> categories;
+    private List<ItemDto> items;
+    private List<ItemDto> bestSellers;
+    private Map<String, SecondHighestCalorieDto> secondHighestCalorie;
+
+    // Constructors
+    public MenuBundleDto() {}
+
+    // Getters and Setters
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public List<CategoryDto> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryDto> categories) {
+        this.categories = categories;
+    }
+
+    public List<ItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemDto> items) {
+        this.items = items;
+    }
+
+    public List<ItemDto> getBestSellers() {
+        return bestSellers;
+    }
+
+    public void setBestSellers(List<ItemDto> bestSellers) {
+        this.bestSellers = bestSellers;
+    }
+
+    public Map<String, SecondHighestCalorieDto> getSecondHighestCalorie() {
+        return secondHighestCalorie;
+    }
+
+    public void setSecondHighestCalorie(Map<String, SecondHighestCalorieDto> secondHighestCalorie) {
+        this.secondHighestCalorie = secondHighestCalorie;
+    }
+}
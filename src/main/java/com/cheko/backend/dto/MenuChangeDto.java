@@ -0,0 +1,83 @@
+package com.cheko.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// Compact change notification pushed on /api/menu/stream
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MenuChangeDto {
+    private long version;
+    private String change; // CREATED, UPDATED, DELETED or BEST_SELLERS
+    private Long id;
+    private Boolean isAvailable;
+    private Boolean isBestSeller;
+    private List<Long> bestSellerIds; // full best-seller set, only for BEST_SELLERS
+    private List<Long> ids; // items changed by one bulk update
+
+    // Constructors
+    public MenuChangeDto() {}
+
+    public MenuChangeDto(long version, String change, Long id) {
+        this.version = version;
+        this.change = change;
+        this.id = id;
+    }
+
+    // Getters and Setters
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public String getChange() {
+        return change;
+    }
+
+    public void setChange(String change) {
+        this.change = change;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Boolean getIsAvailable() {
+        return isAvailable;
+    }
+
+    public void setIsAvailable(Boolean isAvailable) {
+        this.isAvailable = isAvailable;
+    }
+
+    public Boolean getIsBestSeller() {
+        return isBestSeller;
+    }
+
+    public void setIsBestSeller(Boolean isBestSeller) {
+        this.isBestSeller = isBestSeller;
+    }
+
+    public List<Long> getBestSellerIds() {
+        return bestSellerIds;
+    }
+
+    public void setBestSellerIds(List<Long> bestSellerIds) {
+        this.bestSellerIds = bestSellerIds;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
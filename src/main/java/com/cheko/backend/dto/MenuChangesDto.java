@@ -0,0 +1,65 @@
+package com.cheko.backend.dto;
+
+import java.util.List;
+
+// Response of /api/menu/changes: what changed since the client's version, or a full snapshot
+public class MenuChangesDto {
+    private long version; // pass back as ?since= on the next sync
+    private boolean fullSnapshot; // true: replace the local menu instead of merging
+    private List<ItemDto> items; // created or updated (all items for a full snapshot)
+    private List<CategoryDto> categories;
+    private List<Long> deletedItemIds;
+    private List<Long> deletedCategoryIds;
+
+    // Constructors
+    public MenuChangesDto() {}
+
+    // Getters and Setters
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isFullSnapshot() {
+        return fullSnapshot;
+    }
+
+    public void setFullSnapshot(boolean fullSnapshot) {
+        this.fullSnapshot = fullSnapshot;
+    }
+
+    public List<ItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemDto> items) {
+        this.items = items;
+    }
+
+    public List<CategoryDto> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<CategoryDto> categories) {
+        this.categories = categories;
+    }
+
+    public List<Long> getDeletedItemIds() {
+        return deletedItemIds;
+    }
+
+    public void setDeletedItemIds(List<Long> deletedItemIds) {
+        this.deletedItemIds = deletedItemIds;
+    }
+
+    public List<Long> getDeletedCategoryIds() {
+        return deletedCategoryIds;
+    }
+
+    public void setDeletedCategoryIds(List<Long> deletedCategoryIds) {
+        this.deletedCategoryIds = deletedCategoryIds;
+    }
+}
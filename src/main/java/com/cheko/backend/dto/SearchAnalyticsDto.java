@@ -0,0 +1,113 @@
+package com.cheko.backend.dto;
+
+import java.util.List;
+
+public class SearchAnalyticsDto {
+    private long totalQueries;
+    private long zeroResultQueries;
+    private List<QueryStat> topQueries;
+    private List<QueryStat> topZeroResultQueries;
+    private List<String> warmedQueries;
+
+    // Constructors
+    public SearchAnalyticsDto() {}
+
+    // Getters and Setters
+    public long getTotalQueries() {
+        return totalQueries;
+    }
+
+    public void setTotalQueries(long totalQueries) {
+        this.totalQueries = totalQueries;
+    }
+
+    public long getZeroResultQueries() {
+        return zeroResultQueries;
+    }
+
+    public void setZeroResultQueries(long zeroResultQueries) {
+        this.zeroResultQueries = zeroResultQueries;
+    }
+
+    public List<QueryStat> getTopQueries() {
+        return topQueries;
+    }
+
+    public void setTopQueries(List<QueryStat> topQueries) {
+        this.topQueries = topQueries;
+    }
+
+    public List<QueryStat> getTopZeroResultQueries() {
+        return topZeroResultQueries;
+    }
+
+    public void setTopZeroResultQueries(List<QueryStat> topZeroResultQueries) {
+        this.topZeroResultQueries = topZeroResultQueries;
+    }
+
+    public List<String> getWarmedQueries() {
+        return warmedQueries;
+    }
+
+    public void setWarmedQueries(List<String> warmedQueries) {
+        this.warmedQueries = warmedQueries;
+    }
+
+    public static class QueryStat {
+        private String scope;
+        private String query;
+        private long count;          // Space-Saving count (may overestimate by at most errorBound)
+        private long errorBound;
+        private long sketchEstimate; // Count-Min estimate
+
+        public QueryStat() {}
+
+        public QueryStat(String scope, String query, long count, long errorBound, long sketchEstimate) {
+            this.scope = scope;
+            this.query = query;
+            this.count = count;
+            this.errorBound = errorBound;
+            this.sketchEstimate = sketchEstimate;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        public void setScope(String scope) {
+            this.scope = scope;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public void setQuery(String query) {
+            this.query = query;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public long getErrorBound() {
+            return errorBound;
+        }
+
+        public void setErrorBound(long errorBound) {
+            this.errorBound = errorBound;
+        }
+
+        public long getSketchEstimate() {
+            return sketchEstimate;
+        }
+
+        public void setSketchEstimate(long sketchEstimate) {
+            this.sketchEstimate = sketchEstimate;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.cheko.backend.event;
+
+import java.util.List;
+
+// Published whenever menu or location data is written, so derived in-memory
+// structures (search indexes, caches) can refresh themselves
+public class CatalogChangedEvent {
+
+    public static final String ITEMS = "items";
+    public static final String CATEGORIES = "categories";
+    public static final String BRANCHES = "branches";
+    public static final String LOCATIONS = "locations";
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    private final String entityType;
+    private final Long entityId; // null for bulk changes
+    private final List<Long> entityIds; // rows touched by a bulk change, empty when unknown
+    private final String changeType;
+    private final boolean remote;
+    private final Long remoteVersion; // cluster catalog version of a remote change, if its origin has one
+
+    public CatalogChangedEvent(String entityType, Long entityId, String changeType) {
+        this(entityType, entityId, List.of(), changeType, false, null);
+    }
+
+    // A bulk change: one event for the whole statement, so caches are flushed once rather than per row
+    public CatalogChangedEvent(String entityType, List<Long> entityIds, String changeType) {
+        this(entityType, null, entityIds, changeType, false, null);
+    }
+
+    private CatalogChangedEvent(String entityType, Long entityId, List<Long> entityIds, String changeType,
+                                boolean remote, Long remoteVersion) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.entityIds = List.copyOf(entityIds);
+        this.changeType = changeType;
+        this.remote = remote;
+        this.remoteVersion = remoteVersion;
+    }
+
+    // A change committed elsewhere (another node, direct SQL), replayed locally so in-memory
+    // structures follow it. Remote events are never broadcast again.
+    public static CatalogChangedEvent remote(String entityType, Long entityId, String changeType, Long version) {
+        return new CatalogChangedEvent(entityType, entityId, List.of(), changeType, true, version);
+    }
+
+    public static CatalogChangedEvent remote(String entityType, List<Long> entityIds, String changeType, Long version) {
+        return new CatalogChangedEvent(entityType, null, entityIds, changeType, true, version);
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public List<Long> getEntityIds() {
+        return entityIds;
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    public Long getRemoteVersion() {
+        return remoteVersion;
+    }
+
+    @Override
+    public String toString() {
+        return entityType + ":" + (entityId != null ? entityId : "*") + ":" + changeType;
+    }
+}
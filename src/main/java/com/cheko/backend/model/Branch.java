@@ -1,19 +1,27 @@
 package com.cheko.backend.model;
 
+import com.cheko.backend.util.TextAnalyzer;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Read-mostly reference data, kept in the second-level cache
 @Table(name = "branches")
-@SQLDelete(sql = "UPDATE branches SET deleted_at = NOW() WHERE id = ?")
+@SQLDelete(sql = "UPDATE branches SET deleted_at = NOW(), version = version + 1 WHERE id = ? AND version = ?")
+@DynamicUpdate
 @Where(clause = "deleted_at IS NULL")
 public class Branch {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "branches_seq")
+    @SequenceGenerator(name = "branches_seq", sequenceName = "branches_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 100)
@@ -31,6 +39,9 @@ public class Branch {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    @Column(name = "search_text", columnDefinition = "TEXT")
+    private String searchText;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -40,6 +51,10 @@ public class Branch {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToOne(mappedBy = "branch", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Location location;
 
@@ -59,11 +74,18 @@ public class Branch {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        refreshSearchText();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        refreshSearchText();
+    }
+
+    // Recompute the analyzed search text from name and description
+    public void refreshSearchText() {
+        searchText = TextAnalyzer.indexForm(name, description);
     }
 
     // Getters and Setters
@@ -115,6 +137,10 @@ public class Branch {
         this.isActive = isActive;
     }
 
+    public String getSearchText() {
+        return searchText;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -139,6 +165,14 @@ public class Branch {
         this.deletedAt = deletedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Location getLocation() {
         return location;
     }
@@ -0,0 +1,92 @@
+package com.cheko.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Append-only record of a catalog mutation (see CatalogChangeRecorder / CatalogOutboxRelay)
+@Entity
+@Table(name = "catalog_outbox")
+public class CatalogOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private String entityType;
+
+    @Column(name = "entity_id")
+    private Long entityId; // null for bulk changes
+
+    @Column(name = "entity_ids", columnDefinition = "TEXT")
+    private String entityIds; // comma-separated ids of a bulk change, when known
+
+    @Column(name = "change_type", nullable = false, length = 16)
+    private String changeType;
+
+    @Column(name = "origin", nullable = false, length = 64)
+    private String origin; // node that made the change
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public CatalogOutboxEvent() {}
+
+    public CatalogOutboxEvent(String entityType, Long entityId, String changeType, String origin) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeType = changeType;
+        this.origin = origin;
+    }
+
+    // One row for a bulk change, listing the rows it touched
+    public CatalogOutboxEvent(String entityType, List<Long> entityIds, String changeType, String origin) {
+        this(entityType, (Long) null, changeType, origin);
+        this.entityIds = entityIds.isEmpty() ? null
+                : entityIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    // Lifecycle callbacks
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    // Ids touched by a bulk change; empty for single-row changes and bulk changes of unknown extent
+    public List<Long> getEntityIds() {
+        if (entityIds == null || entityIds.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(entityIds.split(",")).map(Long::valueOf).collect(Collectors.toList());
+    }
+
+    public String getChangeType() {
+        return changeType;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
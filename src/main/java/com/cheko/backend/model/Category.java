@@ -1,6 +1,9 @@
 package com.cheko.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -8,16 +11,20 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Read-mostly reference data, kept in the second-level cache
 @Table(name = "categories")
-@SQLDelete(sql = "UPDATE categories SET deleted_at = NOW() WHERE id = ?")
+@SQLDelete(sql = "UPDATE categories SET deleted_at = NOW(), version = version + 1 WHERE id = ? AND version = ?")
+@DynamicUpdate
 @Where(clause = "deleted_at IS NULL")
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+    @SequenceGenerator(name = "categories_seq", sequenceName = "categories_id_seq", allocationSize = 50)
     private Long id;
 
-    @Column(name = "name", nullable = false, unique = true, length = 50)
+    @Column(name = "name", nullable = false, length = 50)
     private String name;
 
     @Column(name = "description", columnDefinition = "TEXT")
@@ -35,6 +42,10 @@ public class Category {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Item> items;
 
@@ -107,6 +118,14 @@ public class Category {
         this.deletedAt = deletedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<Item> getItems() {
         return items;
     }
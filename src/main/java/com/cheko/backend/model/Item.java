@@ -1,6 +1,8 @@
 package com.cheko.backend.model;
 
+import com.cheko.backend.util.TextAnalyzer;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -9,12 +11,15 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "items")
-@SQLDelete(sql = "UPDATE items SET deleted_at = NOW() WHERE id = ?")
+@SQLDelete(sql = "UPDATE items SET deleted_at = NOW(), version = version + 1 WHERE id = ? AND version = ?")
+@DynamicUpdate
 @Where(clause = "deleted_at IS NULL")
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (V6): ids are known before the INSERT, so Hibernate can batch inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 100)
@@ -45,6 +50,9 @@ public class Item {
     @Column(name = "is_best_seller", nullable = false)
     private Boolean isBestSeller = false;
 
+    @Column(name = "search_text", columnDefinition = "TEXT")
+    private String searchText;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -54,6 +62,10 @@ public class Item {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructors
     public Item() {}
 
@@ -75,11 +87,13 @@ public class Item {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        refreshSearchText();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        refreshSearchText();
     }
 
     // Business methods
@@ -87,6 +101,11 @@ public class Item {
         this.totalOrders++;
     }
 
+    // Recompute the analyzed search text from name and description
+    public void refreshSearchText() {
+        searchText = TextAnalyzer.indexForm(name, description);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -168,6 +187,10 @@ public class Item {
         this.isBestSeller = isBestSeller;
     }
 
+    public String getSearchText() {
+        return searchText;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -191,5 +214,13 @@ public class Item {
     public void setDeletedAt(LocalDateTime deletedAt) {
         this.deletedAt = deletedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
@@ -1,6 +1,10 @@
 package com.cheko.backend.model;
 
+import com.cheko.backend.util.TextAnalyzer;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
@@ -8,13 +12,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Read-mostly reference data, kept in the second-level cache
 @Table(name = "locations")
-@SQLDelete(sql = "UPDATE locations SET deleted_at = NOW() WHERE id = ?")
+@SQLDelete(sql = "UPDATE locations SET deleted_at = NOW(), version = version + 1 WHERE id = ? AND version = ?")
+@DynamicUpdate
 @Where(clause = "deleted_at IS NULL")
 public class Location {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "locations_seq")
+    @SequenceGenerator(name = "locations_seq", sequenceName = "locations_id_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -45,6 +53,9 @@ public class Location {
     @Column(name = "map_zoom_level")
     private Integer mapZoomLevel = 15;
 
+    @Column(name = "search_text", columnDefinition = "TEXT")
+    private String searchText;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -54,6 +65,10 @@ public class Location {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Constructors
     public Location() {}
 
@@ -72,11 +87,18 @@ public class Location {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        refreshSearchText();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        refreshSearchText();
+    }
+
+    // Recompute the analyzed search text from address, city and state
+    public void refreshSearchText() {
+        searchText = TextAnalyzer.indexForm(address, city, state);
     }
 
     // Getters and Setters
@@ -160,6 +182,10 @@ public class Location {
         this.mapZoomLevel = mapZoomLevel;
     }
 
+    public String getSearchText() {
+        return searchText;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -183,5 +209,13 @@ public class Location {
     public void setDeletedAt(LocalDateTime deletedAt) {
         this.deletedAt = deletedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
 
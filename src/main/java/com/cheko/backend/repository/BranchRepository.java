@@ -1,8 +1,12 @@
 package com.cheko.backend.repository;
 
 import com.cheko.backend.model.Branch;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +16,7 @@ import java.util.List;
 public interface BranchRepository extends JpaRepository<Branch, Long> {
 
     // Find all active branches
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT b FROM Branch b WHERE b.deletedAt IS NULL AND b.isActive = true ORDER BY b.name ASC")
     List<Branch> findAllActiveBranches();
 
@@ -25,7 +30,16 @@ public interface BranchRepository extends JpaRepository<Branch, Long> {
     @Query("SELECT b FROM Branch b WHERE b.deletedAt IS NULL AND b.isActive = :isActive ORDER BY b.name ASC")
     List<Branch> findByActiveStatus(@Param("isActive") Boolean isActive);
 
+    // Branches whose search text has not been computed yet
+    List<Branch> findBySearchTextIsNull();
+
+    // Set search text without touching updated_at
+    @Modifying
+    @Query("UPDATE Branch b SET b.searchText = :searchText WHERE b.id = :id")
+    void updateSearchText(@Param("id") Long id, @Param("searchText") String searchText);
+
     // Check if branch exists by name
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(b) > 0 FROM Branch b WHERE b.deletedAt IS NULL AND LOWER(b.name) = LOWER(:name)")
     boolean existsByNameIgnoreCase(@Param("name") String name);
 }
\ No newline at end of file
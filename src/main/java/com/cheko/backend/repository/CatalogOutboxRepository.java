@@ -0,0 +1,50 @@
+package com.cheko.backend.repository;
+
+import com.cheko.backend.model.CatalogOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CatalogOutboxRepository extends JpaRepository<CatalogOutboxEvent, Long> {
+
+    // The relay's reads are read-write transactions so they are served by the primary (see DataSourceRouter):
+    // a lagging replica would hold back local invalidation after this node's own writes
+
+    // Next batch after the relay cursor, in commit-independent id order
+    @Transactional
+    @Query("SELECT e FROM CatalogOutboxEvent e WHERE e.id > :after ORDER BY e.id ASC")
+    List<CatalogOutboxEvent> findBatchAfter(@Param("after") Long after, Pageable pageable);
+
+    // Re-check ids skipped by the cursor that may belong to transactions still in flight
+    @Transactional
+    List<CatalogOutboxEvent> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Transactional
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM CatalogOutboxEvent e")
+    Long findMaxId();
+
+    // Oldest retained change; anything before it has been purged
+    @Query("SELECT COALESCE(MIN(e.id), 0) FROM CatalogOutboxEvent e")
+    Long findMinId();
+
+    // Highest id whose transaction has certainly committed by now (rows older than the settle window)
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM CatalogOutboxEvent e WHERE e.createdAt < :before")
+    Long findMaxIdCreatedBefore(@Param("before") LocalDateTime before);
+
+    // Last id handed out by the sequence (0 if none), still known after every row has been purged
+    @Query(value = "SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM catalog_outbox_id_seq", nativeQuery = true)
+    Long findLastAssignedId();
+
+    @Modifying
+    @Query("DELETE FROM CatalogOutboxEvent e WHERE e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,22 +1,34 @@
 package com.cheko.backend.repository;
 
 import com.cheko.backend.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    // Lookup queries below are served from the Hibernate query cache (invalidated on any categories write)
+
     // Find all categories ordered by name
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Category c WHERE c.deletedAt IS NULL ORDER BY c.name ASC")
     List<Category> findAllOrderedByName();
 
+    // Active categories among the given ids, for menu delta sync
+    @Query("SELECT c FROM Category c WHERE c.deletedAt IS NULL AND c.id IN :ids")
+    List<Category> findActiveByIdIn(@Param("ids") Collection<Long> ids);
+
     // Find category by name (case-insensitive)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Category c WHERE c.deletedAt IS NULL AND LOWER(c.name) = LOWER(:name)")
     Optional<Category> findByNameIgnoreCase(@Param("name") String name);
 
@@ -37,6 +49,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<String> findCategoriesWithAtLeastItems(@Param("minItems") int minItems);
 
     // Check if category exists by name
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(c) > 0 FROM Category c WHERE c.deletedAt IS NULL AND LOWER(c.name) = LOWER(:name)")
     boolean existsByNameIgnoreCase(@Param("name") String name);
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,11 +21,22 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     Page<Item> findAllItems(Pageable pageable);
 
     // Search by name OR description (case-insensitive) - Main search requirement
+    // analyzedQuery is the TextAnalyzer form of the query, matched against the precomputed search_text
     @Query("SELECT i FROM Item i WHERE i.deletedAt IS NULL AND " +
            "(LOWER(i.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(i.description) LIKE LOWER(CONCAT('%', :query, '%'))) " +
+           "LOWER(i.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "i.searchText LIKE CONCAT('%', :analyzedQuery, '%')) " +
            "ORDER BY i.name ASC")
-    Page<Item> searchByNameOrDescription(@Param("query") String query, Pageable pageable);
+    Page<Item> searchByNameOrDescription(@Param("query") String query,
+                                         @Param("analyzedQuery") String analyzedQuery,
+                                         Pageable pageable);
+
+    // All search matches, unordered and unpaged, with category fetched (candidates for ranked search)
+    @Query("SELECT i FROM Item i JOIN FETCH i.category WHERE i.deletedAt IS NULL AND " +
+           "(LOWER(i.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "LOWER(i.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "i.searchText LIKE CONCAT('%', :analyzedQuery, '%'))")
+    List<Item> findSearchCandidates(@Param("query") String query, @Param("analyzedQuery") String analyzedQuery);
 
     // Filter by category name (Soup, Rice, Others) - Main filter requirement
     @Query("SELECT i FROM Item i JOIN i.category c WHERE i.deletedAt IS NULL AND " +
@@ -35,12 +47,14 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     // Combined search and filter - Main combined requirement
     @Query("SELECT i FROM Item i JOIN i.category c WHERE i.deletedAt IS NULL AND " +
            "(:query IS NULL OR LOWER(i.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(i.description) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
+           "LOWER(i.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "i.searchText LIKE CONCAT('%', :analyzedQuery, '%')) AND " +
            "(:categoryName IS NULL OR LOWER(c.name) = LOWER(:categoryName)) AND " +
            "(:bestSeller IS NULL OR i.isBestSeller = :bestSeller) AND " +
            "(:available IS NULL OR i.isAvailable = :available) " +
            "ORDER BY i.name ASC")
     Page<Item> searchAndFilter(@Param("query") String query, 
+                              @Param("analyzedQuery") String analyzedQuery,
                               @Param("categoryName") String categoryName,
                               @Param("bestSeller") Boolean bestSeller,
                               @Param("available") Boolean available,
@@ -108,6 +122,35 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
                                  @Param("maxCalories") Integer maxCalories, 
                                  Pageable pageable);
 
+    // Active items with their category, for menu delta sync
+    @Query("SELECT i FROM Item i JOIN FETCH i.category WHERE i.deletedAt IS NULL AND i.id IN :ids")
+    List<Item> findActiveWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Every active item with its category, for a full menu snapshot
+    @Query("SELECT i FROM Item i JOIN FETCH i.category WHERE i.deletedAt IS NULL ORDER BY i.name ASC")
+    List<Item> findAllActiveWithCategory();
+
+    // Id and name of every active item (for the in-memory fuzzy search index)
+    @Query("SELECT i.id, i.name FROM Item i WHERE i.deletedAt IS NULL")
+    List<Object[]> findAllIdAndName();
+
+    // Items whose search text has not been computed yet (rows created before search_text existed)
+    List<Item> findBySearchTextIsNull();
+
+    // Atomic order count increment; leaves version alone so concurrent orders never conflict with admin edits
+    @Modifying
+    @Query("UPDATE Item i SET i.totalOrders = COALESCE(i.totalOrders, 0) + 1 WHERE i.id = :id AND i.deletedAt IS NULL")
+    int incrementTotalOrders(@Param("id") Long id);
+
+    // Set search text without touching updated_at
+    @Modifying
+    @Query("UPDATE Item i SET i.searchText = :searchText WHERE i.id = :id")
+    void updateSearchText(@Param("id") Long id, @Param("searchText") String searchText);
+
+    // Lower-cased names of all active items (for validating bulk imports in memory)
+    @Query("SELECT LOWER(i.name) FROM Item i WHERE i.deletedAt IS NULL")
+    List<String> findAllActiveNamesLowerCase();
+
     // Check if item exists by name
     @Query("SELECT COUNT(i) > 0 FROM Item i WHERE i.deletedAt IS NULL AND LOWER(i.name) = LOWER(:name)")
     boolean existsByNameIgnoreCase(@Param("name") String name);
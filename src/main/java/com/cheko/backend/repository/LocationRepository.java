@@ -1,8 +1,12 @@
 package com.cheko.backend.repository;
 
 import com.cheko.backend.model.Location;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,33 +17,40 @@ import java.util.Optional;
 @Repository
 public interface LocationRepository extends JpaRepository<Location, Long> {
 
-    // Find all locations for map display
+    // Find all locations for map display (query cache; locations and branches come from the entity cache)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT l FROM Location l JOIN FETCH l.branch b WHERE l.deletedAt IS NULL AND b.isActive = true ORDER BY b.name ASC")
     List<Location> findAllActiveLocations();
 
     // Find location by branch ID
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT l FROM Location l WHERE l.deletedAt IS NULL AND l.branch.id = :branchId")
     Optional<Location> findByBranchId(@Param("branchId") Long branchId);
 
     // Global search across branch name, address, and description
+    // analyzedQuery is the TextAnalyzer form of the query, matched against the precomputed search_text
     @Query("SELECT l FROM Location l JOIN l.branch b WHERE l.deletedAt IS NULL AND b.isActive = true AND " +
            "(LOWER(b.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            "LOWER(l.address) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(b.description) LIKE LOWER(CONCAT('%', :query, '%'))) " +
+           "LOWER(b.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "b.searchText LIKE CONCAT('%', :analyzedQuery, '%') OR " +
+           "l.searchText LIKE CONCAT('%', :analyzedQuery, '%')) " +
            "ORDER BY b.name ASC")
-    List<Location> searchGlobal(@Param("query") String query);
+    List<Location> searchGlobal(@Param("query") String query, @Param("analyzedQuery") String analyzedQuery);
 
     // Search by branch name
     @Query("SELECT l FROM Location l JOIN l.branch b WHERE l.deletedAt IS NULL AND b.isActive = true AND " +
-           "LOWER(b.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
+           "(LOWER(b.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "b.searchText LIKE CONCAT('%', :analyzedQuery, '%')) " +
            "ORDER BY b.name ASC")
-    List<Location> searchByBranchName(@Param("query") String query);
+    List<Location> searchByBranchName(@Param("query") String query, @Param("analyzedQuery") String analyzedQuery);
 
     // Search by address
     @Query("SELECT l FROM Location l JOIN l.branch b WHERE l.deletedAt IS NULL AND b.isActive = true AND " +
-           "LOWER(l.address) LIKE LOWER(CONCAT('%', :query, '%')) " +
+           "(LOWER(l.address) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "l.searchText LIKE CONCAT('%', :analyzedQuery, '%')) " +
            "ORDER BY b.name ASC")
-    List<Location> searchByAddress(@Param("query") String query);
+    List<Location> searchByAddress(@Param("query") String query, @Param("analyzedQuery") String analyzedQuery);
 
     // Filter by city
     @Query("SELECT l FROM Location l JOIN l.branch b WHERE l.deletedAt IS NULL AND b.isActive = true AND " +
@@ -58,12 +69,15 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
            "(:query IS NULL OR " +
            " LOWER(b.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
            " LOWER(l.address) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           " LOWER(b.description) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
+           " LOWER(b.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           " b.searchText LIKE CONCAT('%', :analyzedQuery, '%') OR " +
+           " l.searchText LIKE CONCAT('%', :analyzedQuery, '%')) AND " +
            "(:city IS NULL OR LOWER(l.city) = LOWER(:city)) AND " +
            "(:state IS NULL OR LOWER(l.state) = LOWER(:state)) AND " +
            "(:isActive IS NULL OR b.isActive = :isActive) " +
            "ORDER BY b.name ASC")
     List<Location> searchAndFilter(@Param("query") String query,
+                                  @Param("analyzedQuery") String analyzedQuery,
                                   @Param("city") String city,
                                   @Param("state") String state,
                                   @Param("isActive") Boolean isActive);
@@ -82,11 +96,21 @@ public interface LocationRepository extends JpaRepository<Location, Long> {
                                @Param("lng") BigDecimal longitude, 
                                @Param("radiusKm") Double radiusKm);
 
+    // Locations whose search text has not been computed yet
+    List<Location> findBySearchTextIsNull();
+
+    // Set search text without touching updated_at
+    @Modifying
+    @Query("UPDATE Location l SET l.searchText = :searchText WHERE l.id = :id")
+    void updateSearchText(@Param("id") Long id, @Param("searchText") String searchText);
+
     // Get unique cities for filter options
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT l.city FROM Location l JOIN l.branch b WHERE l.deletedAt IS NULL AND b.isActive = true AND l.city IS NOT NULL ORDER BY l.city")
     List<String> findDistinctCities();
 
     // Get unique states for filter options
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT DISTINCT l.state FROM Location l JOIN l.branch b WHERE l.deletedAt IS NULL AND b.isActive = true AND l.state IS NOT NULL ORDER BY l.state")
     List<String> findDistinctStates();
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.cheko.backend.repository;
+
+import com.cheko.backend.dto.CategoryDto;
+import com.cheko.backend.dto.ItemDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// R2DBC counterparts of the ItemRepository / CategoryRepository reads used by the reactive API.
+// Rows are mapped straight to DTOs and emitted as they arrive, with demand from the response writer.
+@Repository
+@ConditionalOnProperty(name = "cheko.reactive.enabled", havingValue = "true")
+public class ReactiveItemRepository {
+
+    private static final String ITEM_COLUMNS = "SELECT i.id, i.name, i.description, i.price, i.calories, i.image_url, " +
+            "i.category_id, c.name AS category_name, i.is_available, i.total_orders, i.is_best_seller " +
+            "FROM items i JOIN categories c ON i.category_id = c.id ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveItemRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<ItemDto> findAllItems(int limit, long offset) {
+        return databaseClient.sql(ITEM_COLUMNS + "WHERE i.deleted_at IS NULL ORDER BY i.name ASC LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveItemRepository::toItem)
+                .all();
+    }
+
+    public Mono<ItemDto> findById(Long id) {
+        return databaseClient.sql(ITEM_COLUMNS + "WHERE i.id = :id AND i.deleted_at IS NULL")
+                .bind("id", id)
+                .map(ReactiveItemRepository::toItem)
+                .one();
+    }
+
+    // Same predicate as ItemRepository.searchByNameOrDescription; analyzedQuery may be null
+    public Flux<ItemDto> searchByNameOrDescription(String query, String analyzedQuery, int limit, long offset) {
+        String sql = ITEM_COLUMNS + "WHERE i.deleted_at IS NULL AND (" +
+                "LOWER(i.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+                "LOWER(i.description) LIKE LOWER(CONCAT('%', :query, '%'))" +
+                (analyzedQuery != null ? " OR i.search_text LIKE CONCAT('%', :analyzedQuery, '%')" : "") +
+                ") ORDER BY i.name ASC LIMIT :limit OFFSET :offset";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("query", query)
+                .bind("limit", limit)
+                .bind("offset", offset);
+        if (analyzedQuery != null) {
+            spec = spec.bind("analyzedQuery", analyzedQuery);
+        }
+        return spec.map(ReactiveItemRepository::toItem).all();
+    }
+
+    public Flux<ItemDto> findByCategoryName(String categoryName, int limit, long offset) {
+        return databaseClient.sql(ITEM_COLUMNS + "WHERE i.deleted_at IS NULL AND LOWER(c.name) = LOWER(:categoryName) " +
+                        "ORDER BY i.name ASC LIMIT :limit OFFSET :offset")
+                .bind("categoryName", categoryName)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveItemRepository::toItem)
+                .all();
+    }
+
+    public Flux<ItemDto> findBestSellers() {
+        return databaseClient.sql(ITEM_COLUMNS + "WHERE i.deleted_at IS NULL AND i.is_best_seller = true " +
+                        "ORDER BY i.total_orders DESC, i.name ASC")
+                .map(ReactiveItemRepository::toItem)
+                .all();
+    }
+
+    public Flux<CategoryDto> findAllCategories() {
+        return databaseClient.sql("SELECT id, name, description, icon_name, created_at, updated_at FROM categories " +
+                        "WHERE deleted_at IS NULL ORDER BY name ASC")
+                .map(row -> new CategoryDto(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("description", String.class),
+                        row.get("icon_name", String.class),
+                        row.get("created_at", LocalDateTime.class),
+                        row.get("updated_at", LocalDateTime.class)))
+                .all();
+    }
+
+    private static ItemDto toItem(Readable row) {
+        return new ItemDto(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("price", BigDecimal.class),
+                row.get("calories", Integer.class),
+                row.get("image_url", String.class),
+                row.get("category_id", Long.class),
+                row.get("category_name", String.class),
+                row.get("is_available", Boolean.class),
+                row.get("total_orders", Integer.class),
+                row.get("is_best_seller", Boolean.class));
+    }
+}
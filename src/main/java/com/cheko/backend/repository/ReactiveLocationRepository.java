@@ -0,0 +1,110 @@
+package com.cheko.backend.repository;
+
+import com.cheko.backend.dto.MapMarkerDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+
+// R2DBC counterparts of the LocationRepository reads used by the reactive API, mapped to map markers
+// (popup content is added by the caller, as LocationService does for the servlet API)
+@Repository
+@ConditionalOnProperty(name = "cheko.reactive.enabled", havingValue = "true")
+public class ReactiveLocationRepository {
+
+    private static final String MARKER_COLUMNS = "SELECT l.id, b.name AS branch_name, l.address, b.description, b.phone, " +
+            "b.opening_hours, l.latitude, l.longitude, l.city, l.state, l.map_zoom_level, b.is_active " +
+            "FROM locations l JOIN branches b ON l.branch_id = b.id " +
+            "WHERE l.deleted_at IS NULL AND b.is_active = true ";
+
+    private static final String DISTANCE_KM = "(6371 * acos(cos(radians(:lat)) * cos(radians(CAST(l.latitude AS DOUBLE PRECISION))) * " +
+            "cos(radians(CAST(l.longitude AS DOUBLE PRECISION)) - radians(:lng)) + " +
+            "sin(radians(:lat)) * sin(radians(CAST(l.latitude AS DOUBLE PRECISION)))))";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveLocationRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<MapMarkerDto> findAllActiveLocations() {
+        return databaseClient.sql(MARKER_COLUMNS + "ORDER BY b.name ASC")
+                .map(ReactiveLocationRepository::toMarker)
+                .all();
+    }
+
+    // Same predicate as LocationRepository.searchGlobal; analyzedQuery may be null
+    public Flux<MapMarkerDto> searchGlobal(String query, String analyzedQuery) {
+        String sql = MARKER_COLUMNS + "AND (" +
+                "LOWER(b.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+                "LOWER(l.address) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+                "LOWER(b.description) LIKE LOWER(CONCAT('%', :query, '%'))" +
+                (analyzedQuery != null
+                        ? " OR b.search_text LIKE CONCAT('%', :analyzedQuery, '%') OR l.search_text LIKE CONCAT('%', :analyzedQuery, '%')"
+                        : "") +
+                ") ORDER BY b.name ASC";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql).bind("query", query);
+        if (analyzedQuery != null) {
+            spec = spec.bind("analyzedQuery", analyzedQuery);
+        }
+        return spec.map(ReactiveLocationRepository::toMarker).all();
+    }
+
+    public Flux<MapMarkerDto> findByCity(String city) {
+        return databaseClient.sql(MARKER_COLUMNS + "AND LOWER(l.city) = LOWER(:city) ORDER BY b.name ASC")
+                .bind("city", city)
+                .map(ReactiveLocationRepository::toMarker)
+                .all();
+    }
+
+    public Flux<MapMarkerDto> findByState(String state) {
+        return databaseClient.sql(MARKER_COLUMNS + "AND LOWER(l.state) = LOWER(:state) ORDER BY b.name ASC")
+                .bind("state", state)
+                .map(ReactiveLocationRepository::toMarker)
+                .all();
+    }
+
+    // Haversine distance, as LocationRepository.findByRadius (radius in kilometers)
+    public Flux<MapMarkerDto> findByRadius(BigDecimal latitude, BigDecimal longitude, double radiusKm) {
+        return databaseClient.sql(MARKER_COLUMNS + "AND " + DISTANCE_KM + " <= :radiusKm ORDER BY " + DISTANCE_KM)
+                .bind("lat", latitude)
+                .bind("lng", longitude)
+                .bind("radiusKm", radiusKm)
+                .map(ReactiveLocationRepository::toMarker)
+                .all();
+    }
+
+    public Flux<String> findDistinctCities() {
+        return databaseClient.sql("SELECT DISTINCT l.city FROM locations l JOIN branches b ON l.branch_id = b.id " +
+                        "WHERE l.deleted_at IS NULL AND b.is_active = true AND l.city IS NOT NULL ORDER BY l.city")
+                .map(row -> row.get("city", String.class))
+                .all();
+    }
+
+    public Flux<String> findDistinctStates() {
+        return databaseClient.sql("SELECT DISTINCT l.state FROM locations l JOIN branches b ON l.branch_id = b.id " +
+                        "WHERE l.deleted_at IS NULL AND b.is_active = true AND l.state IS NOT NULL ORDER BY l.state")
+                .map(row -> row.get("state", String.class))
+                .all();
+    }
+
+    private static MapMarkerDto toMarker(Readable row) {
+        MapMarkerDto dto = new MapMarkerDto();
+        dto.setId(row.get("id", Long.class));
+        dto.setBranchName(row.get("branch_name", String.class));
+        dto.setAddress(row.get("address", String.class));
+        dto.setDescription(row.get("description", String.class));
+        dto.setPhone(row.get("phone", String.class));
+        dto.setOpeningHours(row.get("opening_hours", String.class));
+        dto.setLatitude(row.get("latitude", BigDecimal.class));
+        dto.setLongitude(row.get("longitude", BigDecimal.class));
+        dto.setCity(row.get("city", String.class));
+        dto.setState(row.get("state", String.class));
+        dto.setMapZoomLevel(row.get("map_zoom_level", Integer.class));
+        dto.setIsActive(row.get("is_active", Boolean.class));
+        return dto;
+    }
+}
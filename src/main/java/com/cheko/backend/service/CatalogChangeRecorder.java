@@ -0,0 +1,64 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.model.CatalogOutboxEvent;
+import com.cheko.backend.repository.CatalogOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Appends catalog mutations to the outbox in the writer's transaction, so the change and its
+// event commit or roll back together. CatalogOutboxRelay turns the rows into CatalogChangedEvents.
+@Component
+public class CatalogChangeRecorder {
+
+    @Autowired
+    private CatalogOutboxRepository outboxRepository;
+
+    @Autowired
+    private CatalogOutboxRelay outboxRelay;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String entityType, Long entityId, String changeType) {
+        append(new CatalogOutboxEvent(entityType, entityId, changeType, nodeIdentity.getId()));
+    }
+
+    // One change for a multi-row statement, listing the touched ids (pass an empty list when unknown)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBulk(String entityType, List<Long> entityIds, String changeType) {
+        append(new CatalogOutboxEvent(entityType, entityIds, changeType, nodeIdentity.getId()));
+    }
+
+    private void append(CatalogOutboxEvent event) {
+        CatalogOutboxEvent saved = outboxRepository.save(event);
+
+        // Relay once per transaction right after commit, waiting briefly for the transaction's last change,
+        // so the writer's next read already sees fresh caches
+        AtomicLong lastId = (AtomicLong) TransactionSynchronizationManager.getResource(this);
+        if (lastId == null) {
+            AtomicLong transactionLastId = new AtomicLong();
+            lastId = transactionLastId;
+            TransactionSynchronizationManager.bindResource(this, transactionLastId);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxRelay.relayNow(transactionLastId.get());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CatalogChangeRecorder.this);
+                }
+            });
+        }
+        lastId.accumulateAndGet(saved.getId(), Math::max);
+    }
+}
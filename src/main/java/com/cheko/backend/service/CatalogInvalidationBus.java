@@ -0,0 +1,78 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.event.CatalogChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Broadcasts committed catalog changes to the other nodes through the shared cache tier and
+// replays their changes locally as remote CatalogChangedEvents, so every in-process cache,
+// index and second-level cache region follows writes made anywhere in the cluster.
+@Component
+public class CatalogInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogInvalidationBus.class);
+
+    static final String CHANNEL = "cheko:catalog:changes";
+
+    @Autowired(required = false)
+    private SharedCacheTier sharedCacheTier;
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    @PostConstruct
+    void subscribe() {
+        if (sharedCacheTier != null) {
+            sharedCacheTier.subscribe(CHANNEL, this::onMessage);
+        }
+    }
+
+    // Runs right after CatalogVersionService has bumped the version for this change
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (sharedCacheTier == null || event.isRemote()) {
+            return;
+        }
+        Invalidation message = new Invalidation(nodeIdentity.getId(), catalogVersionService.current(),
+                event.getEntityType(), event.getEntityId(), event.getChangeType());
+        try {
+            sharedCacheTier.publish(CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            log.error("Could not encode catalog invalidation {}", event, e);
+        }
+    }
+
+    private void onMessage(String payload) {
+        try {
+            Invalidation message = objectMapper.readValue(payload, Invalidation.class);
+            if (nodeIdentity.getId().equals(message.node())) {
+                return;
+            }
+            eventPublisher.publishEvent(CatalogChangedEvent.remote(message.entityType(), message.entityId(),
+                    message.changeType(), message.version()));
+        } catch (Exception e) {
+            log.warn("Ignoring malformed catalog invalidation: {}", payload, e);
+        }
+    }
+
+    record Invalidation(String node, long version, String entityType, Long entityId, String changeType) {}
+}
@@ -0,0 +1,250 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.event.CatalogChangedEvent;
+import com.cheko.backend.model.CatalogOutboxEvent;
+import com.cheko.backend.repository.CatalogOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Delivers outbox rows to in-process subscribers as CatalogChangedEvents, in id order and in batches.
+// Delivery is at-least-once: the cursor only moves past a row once every listener has handled it.
+// Rows written by this node are published as local events (bumping the catalog version and broadcasting),
+// rows from other nodes as remote events. The cursor is per node and starts at the tail on startup,
+// since a fresh node has no derived state to invalidate.
+@Component
+public class CatalogOutboxRelay implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogOutboxRelay.class);
+
+    private static final int MAX_TRACKED_GAPS = 1000;
+
+    @Autowired
+    private CatalogOutboxRepository outboxRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    @Value("${cheko.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${cheko.outbox.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    @Value("${cheko.outbox.relay-wait-ms:100}")
+    private long relayWaitMs;
+
+    @Value("${cheko.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    // Runs relays requested from commit callbacks, outside the committing transaction's resources
+    private final ExecutorService relayExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // A lock rather than synchronized: relays query the database, which would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private long cursor = -1;
+    // Ids skipped by the cursor (sequence values of transactions not yet committed, or rolled back) -> first seen
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    // Copy of cursor and gaps published after each pass, read by writers waiting in relayNow without the relay lock
+    private volatile Delivery delivery = new Delivery(-1, Set.of());
+    private final ReentrantLock deliveryLock = new ReentrantLock();
+    private final Condition deliveryChanged = deliveryLock.newCondition();
+    private final AtomicBoolean relayRequested = new AtomicBoolean();
+
+    // Starts a relay pass without blocking the caller (commit callbacks still hold the writer's connection);
+    // then waits at most relay-wait-ms for the given outbox id to be delivered, so the writer's own
+    // follow-up reads see its change. Passes requested while one is queued are coalesced.
+    public void relayNow(long outboxId) {
+        if (relayRequested.compareAndSet(false, true)) {
+            try {
+                relayExecutor.submit(() -> {
+                    relayRequested.set(false);
+                    try {
+                        relay();
+                    } catch (RuntimeException e) {
+                        log.warn("Outbox relay failed, will retry on next poll: {}", e.getMessage());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                relayRequested.set(false);
+                return;
+            }
+        }
+        if (relayWaitMs <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(relayWaitMs);
+        deliveryLock.lock();
+        try {
+            while (!isDelivered(outboxId)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    log.debug("Outbox id {} not relayed within {} ms, continuing without waiting", outboxId, relayWaitMs);
+                    return;
+                }
+                deliveryChanged.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+
+    // Highest id up to which every change has been delivered (or -1 before the relay has started)
+    public long deliveredVersion() {
+        lock.lock();
+        try {
+            long delivered = cursor;
+            for (Long gap : gaps.keySet()) {
+                delivered = Math.min(delivered, gap - 1);
+            }
+            return delivered;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Seeds in-memory state with no relay pass interleaving; the action returns the outbox id its state
+    // reflects, where the relay starts if it has not started yet (later changes are then delivered on top)
+    public void seed(LongSupplier action) {
+        lock.lock();
+        try {
+            long seededUpTo = action.getAsLong();
+            if (cursor < 0 && seededUpTo >= 0) {
+                cursor = seededUpTo;
+                log.info("Catalog outbox relay starting after id {} (seeded)", cursor);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Picks up changes from other nodes and retries anything not yet delivered
+    @Scheduled(fixedDelayString = "${cheko.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        lock.lock();
+        try {
+            if (cursor < 0) {
+                cursor = outboxRepository.findMaxId();
+                log.info("Catalog outbox relay starting after id {}", cursor);
+                return;
+            }
+
+            retryGaps();
+            List<CatalogOutboxEvent> batch;
+            do {
+                batch = outboxRepository.findBatchAfter(cursor, PageRequest.of(0, batchSize));
+                for (CatalogOutboxEvent event : batch) {
+                    trackGaps(event.getId());
+                    dispatch(event); // a failing listener stops the batch; the row is retried next time
+                    cursor = event.getId();
+                }
+            } while (batch.size() == batchSize);
+        } finally {
+            publishDelivery();
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedRate = 3600000) // Run every hour
+    @Transactional
+    public void purge() {
+        int purged = outboxRepository.deleteOlderThan(LocalDateTime.now().minusHours(retentionHours));
+        if (purged > 0) {
+            log.info("Purged {} catalog outbox rows older than {} hours", purged, retentionHours);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        relayExecutor.shutdownNow();
+    }
+
+    private boolean isDelivered(long outboxId) {
+        Delivery current = delivery;
+        return current.cursor() >= outboxId && !current.gaps().contains(outboxId);
+    }
+
+    // Called with the relay lock held
+    private void publishDelivery() {
+        delivery = new Delivery(cursor, Set.copyOf(gaps.keySet()));
+        deliveryLock.lock();
+        try {
+            deliveryChanged.signalAll();
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+
+    private void dispatch(CatalogOutboxEvent event) {
+        boolean local = nodeIdentity.getId().equals(event.getOrigin());
+        if (event.getEntityId() == null) {
+            List<Long> ids = event.getEntityIds();
+            eventPublisher.publishEvent(local
+                    ? new CatalogChangedEvent(event.getEntityType(), ids, event.getChangeType())
+                    : CatalogChangedEvent.remote(event.getEntityType(), ids, event.getChangeType(), null));
+        } else {
+            eventPublisher.publishEvent(local
+                    ? new CatalogChangedEvent(event.getEntityType(), event.getEntityId(), event.getChangeType())
+                    : CatalogChangedEvent.remote(event.getEntityType(), event.getEntityId(), event.getChangeType(), null));
+        }
+    }
+
+    private void trackGaps(long id) {
+        long now = System.currentTimeMillis();
+        for (long missing = cursor + 1; missing < id && gaps.size() < MAX_TRACKED_GAPS; missing++) {
+            gaps.putIfAbsent(missing, now);
+        }
+    }
+
+    // Deliver rows whose transactions committed after the cursor had moved past their ids
+    private void retryGaps() {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        for (CatalogOutboxEvent event : outboxRepository.findByIdInOrderByIdAsc(new ArrayList<>(gaps.keySet()))) {
+            dispatch(event);
+            gaps.remove(event.getId());
+        }
+        long expired = System.currentTimeMillis() - gapTimeoutMs;
+        for (Iterator<Long> firstSeen = gaps.values().iterator(); firstSeen.hasNext(); ) {
+            if (firstSeen.next() < expired) {
+                firstSeen.remove(); // rolled back
+            }
+        }
+    }
+
+    private record Delivery(long cursor, Set<Long> gaps) {}
+}
@@ -0,0 +1,245 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.dto.ItemDto;
+import com.cheko.backend.dto.MapMarkerDto;
+import com.cheko.backend.service.SearchResultCache.StoredResult;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Versioned binary format of the in-memory catalog (see CatalogSnapshotService).
+// Layout: magic, format, outbox version, then item rows, map markers, search index names and
+// cached results, each section prefixed by its count. Strings are length-prefixed UTF-8 (-1 = null).
+final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x43484B53; // "CHKS"
+    private static final int FORMAT = 1;
+
+    final long version;
+    final List<ItemDto> items;
+    final List<MapMarkerDto> markers;
+    final Map<Long, String> indexNames;
+    final List<StoredResult> results;
+
+    CatalogSnapshotFile(long version, List<ItemDto> items, List<MapMarkerDto> markers,
+                        Map<Long, String> indexNames, List<StoredResult> results) {
+        this.version = version;
+        this.items = items;
+        this.markers = markers;
+        this.indexNames = indexNames;
+        this.results = results;
+    }
+
+    // Written to a temp file and moved into place, so a crash never leaves a torn snapshot
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "catalog-snapshot-", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(version);
+
+            out.writeInt(items.size());
+            for (ItemDto item : items) {
+                writeLong(out, item.getId());
+                writeString(out, item.getName());
+                writeString(out, item.getDescription());
+                writeString(out, item.getPrice() != null ? item.getPrice().toPlainString() : null);
+                writeInt(out, item.getCalories());
+                writeString(out, item.getImageUrl());
+                writeLong(out, item.getCategoryId());
+                writeString(out, item.getCategoryName());
+                writeBoolean(out, item.getIsAvailable());
+                writeInt(out, item.getTotalOrders());
+                writeBoolean(out, item.getIsBestSeller());
+            }
+
+            out.writeInt(markers.size());
+            for (MapMarkerDto marker : markers) {
+                writeLong(out, marker.getId());
+                writeString(out, marker.getBranchName());
+                writeString(out, marker.getAddress());
+                writeString(out, marker.getDescription());
+                writeString(out, marker.getPhone());
+                writeString(out, marker.getOpeningHours());
+                writeString(out, marker.getLatitude() != null ? marker.getLatitude().toPlainString() : null);
+                writeString(out, marker.getLongitude() != null ? marker.getLongitude().toPlainString() : null);
+                writeString(out, marker.getCity());
+                writeString(out, marker.getState());
+                writeInt(out, marker.getMapZoomLevel());
+                writeBoolean(out, marker.getIsActive());
+                writeString(out, marker.getMarkerColor());
+                writeString(out, marker.getMarkerIcon());
+                writeString(out, marker.getPopupContent());
+            }
+
+            out.writeInt(indexNames.size());
+            for (Map.Entry<Long, String> entry : indexNames.entrySet()) {
+                out.writeLong(entry.getKey());
+                writeString(out, entry.getValue());
+            }
+
+            out.writeInt(results.size());
+            for (StoredResult result : results) {
+                writeString(out, result.scope());
+                writeString(out, result.query());
+                writeString(out, result.filters());
+                writeString(out, result.page());
+                out.writeLong(result.total());
+                out.writeInt(result.ids().size());
+                for (Long id : result.ids()) {
+                    out.writeLong(id);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Maps the file and decodes it; IOException if it is not a complete snapshot of this format
+    static CatalogSnapshotFile read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != MAGIC || in.getInt() != FORMAT) {
+                throw new IOException("Not a catalog snapshot of format " + FORMAT);
+            }
+            long version = in.getLong();
+
+            int itemCount = in.getInt();
+            List<ItemDto> items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                Long id = readLong(in);
+                String name = readString(in);
+                String description = readString(in);
+                String price = readString(in);
+                Integer calories = readInt(in);
+                String imageUrl = readString(in);
+                Long categoryId = readLong(in);
+                String categoryName = readString(in);
+                Boolean isAvailable = readBoolean(in);
+                Integer totalOrders = readInt(in);
+                Boolean isBestSeller = readBoolean(in);
+                items.add(new ItemDto(id, name, description, price != null ? new BigDecimal(price) : null, calories,
+                        imageUrl, categoryId, categoryName, isAvailable, totalOrders, isBestSeller));
+            }
+
+            int markerCount = in.getInt();
+            List<MapMarkerDto> markers = new ArrayList<>(markerCount);
+            for (int i = 0; i < markerCount; i++) {
+                MapMarkerDto marker = new MapMarkerDto();
+                marker.setId(readLong(in));
+                marker.setBranchName(readString(in));
+                marker.setAddress(readString(in));
+                marker.setDescription(readString(in));
+                marker.setPhone(readString(in));
+                marker.setOpeningHours(readString(in));
+                String latitude = readString(in);
+                marker.setLatitude(latitude != null ? new BigDecimal(latitude) : null);
+                String longitude = readString(in);
+                marker.setLongitude(longitude != null ? new BigDecimal(longitude) : null);
+                marker.setCity(readString(in));
+                marker.setState(readString(in));
+                marker.setMapZoomLevel(readInt(in));
+                marker.setIsActive(readBoolean(in));
+                marker.setMarkerColor(readString(in));
+                marker.setMarkerIcon(readString(in));
+                marker.setPopupContent(readString(in));
+                markers.add(marker);
+            }
+
+            int nameCount = in.getInt();
+            Map<Long, String> indexNames = new HashMap<>(nameCount * 2);
+            for (int i = 0; i < nameCount; i++) {
+                long id = in.getLong();
+                indexNames.put(id, readString(in));
+            }
+
+            int resultCount = in.getInt();
+            List<StoredResult> results = new ArrayList<>(resultCount);
+            for (int i = 0; i < resultCount; i++) {
+                String scope = readString(in);
+                String query = readString(in);
+                String filters = readString(in);
+                String page = readString(in);
+                long total = in.getLong();
+                int idCount = in.getInt();
+                List<Long> ids = new ArrayList<>(idCount);
+                for (int j = 0; j < idCount; j++) {
+                    ids.add(in.getLong());
+                }
+                results.add(new StoredResult(scope, query, filters, page, ids, total));
+            }
+            return new CatalogSnapshotFile(version, items, markers, indexNames, results);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Truncated or corrupt catalog snapshot", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(MappedByteBuffer in) {
+        return in.get() != 0 ? in.getLong() : null;
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInt(MappedByteBuffer in) {
+        return in.get() != 0 ? in.getInt() : null;
+    }
+
+    // -1 = null, 0 = false, 1 = true
+    private static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? -1 : value ? 1 : 0);
+    }
+
+    private static Boolean readBoolean(MappedByteBuffer in) {
+        byte value = in.get();
+        return value < 0 ? null : value == 1;
+    }
+}
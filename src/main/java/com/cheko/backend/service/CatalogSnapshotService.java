@@ -0,0 +1,182 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.event.CatalogChangedEvent;
+import com.cheko.backend.model.CatalogOutboxEvent;
+import com.cheko.backend.repository.CatalogOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Persists the in-memory catalog (cached item rows, map markers, search index, cached results) to a
+// versioned binary file, and restores it on startup before the web server accepts traffic.
+// The snapshot's version is an outbox id: it is only used if every change after it is still in the outbox,
+// and those changes are applied on top (changed rows are left out and reloaded on demand).
+@Service
+public class CatalogSnapshotService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private CatalogOutboxRelay outboxRelay;
+
+    @Autowired
+    private CatalogOutboxRepository outboxRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Value("${cheko.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cheko.snapshot.file:${java.io.tmpdir}/cheko-catalog.snapshot}")
+    private String snapshotFile;
+
+    @Value("${cheko.snapshot.max-catch-up:500}")
+    private int maxCatchUp;
+
+    // Runs once all beans exist, before the web server starts and before scheduled tasks run
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        Path file = Paths.get(snapshotFile);
+        if (!Files.exists(file)) {
+            log.info("No catalog snapshot at {}, starting cold", file);
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        CatalogSnapshotFile snapshot;
+        try {
+            snapshot = CatalogSnapshotFile.read(file);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", file, e.getMessage());
+            return;
+        }
+        try {
+            outboxRelay.seed(() -> restore(snapshot));
+        } catch (RuntimeException e) {
+            log.warn("Could not restore catalog snapshot, starting cold: {}", e.getMessage());
+            return;
+        }
+        log.info("Catalog snapshot load took {} ms", System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(fixedDelayString = "${cheko.snapshot.interval-ms:300000}",
+               initialDelayString = "${cheko.snapshot.interval-ms:300000}")
+    public void save() {
+        if (!enabled) {
+            return;
+        }
+        // Read the version first: the cached state copied below is at least this new
+        long version = outboxRelay.deliveredVersion();
+        if (version < 0) {
+            return;
+        }
+        CatalogSnapshotFile snapshot = new CatalogSnapshotFile(version,
+                searchResultCache.cachedItems(),
+                searchResultCache.cachedMarkers(),
+                itemSearchIndex.indexedNames(),
+                searchResultCache.cachedResults());
+        try {
+            snapshot.write(Paths.get(snapshotFile));
+            log.debug("Saved catalog snapshot v{}: {} items, {} markers, {} results",
+                    version, snapshot.items.size(), snapshot.markers.size(), snapshot.results.size());
+        } catch (IOException e) {
+            log.warn("Could not save catalog snapshot to {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void saveOnShutdown() {
+        save();
+    }
+
+    // Applies the snapshot and the changes made since; returns the outbox id the restored state reflects
+    private long restore(CatalogSnapshotFile snapshot) {
+        long lastAssigned = outboxRepository.findLastAssignedId();
+        long minId = outboxRepository.findMinId();
+        long floor = minId > 0 ? minId - 1 : lastAssigned;
+        if (snapshot.version < floor || snapshot.version > lastAssigned) {
+            log.info("Catalog snapshot v{} is outside the retained change log ({}..{}), starting cold",
+                    snapshot.version, floor, lastAssigned);
+            return -1;
+        }
+
+        List<CatalogOutboxEvent> changes = outboxRepository.findBatchAfter(snapshot.version,
+                PageRequest.of(0, maxCatchUp + 1));
+        if (changes.size() > maxCatchUp) {
+            log.info("Catalog snapshot v{} is more than {} changes behind, starting cold", snapshot.version, maxCatchUp);
+            return -1;
+        }
+
+        long caughtUpTo = snapshot.version;
+        Set<Long> changedItems = new HashSet<>();
+        boolean allItemsChanged = false;
+        boolean locationsChanged = false;
+        for (CatalogOutboxEvent change : changes) {
+            caughtUpTo = change.getId();
+            switch (change.getEntityType()) {
+                case CatalogChangedEvent.ITEMS:
+                    if (change.getEntityId() == null && change.getEntityIds().isEmpty()) {
+                        allItemsChanged = true;
+                    } else if (change.getEntityId() == null) {
+                        changedItems.addAll(change.getEntityIds());
+                    } else {
+                        changedItems.add(change.getEntityId());
+                    }
+                    break;
+                case CatalogChangedEvent.CATEGORIES:
+                    allItemsChanged = true; // category names are embedded in item rows
+                    break;
+                default:
+                    locationsChanged = true;
+            }
+        }
+
+        if (!allItemsChanged) {
+            searchResultCache.restoreItems(snapshot.items.stream()
+                    .filter(item -> !changedItems.contains(item.getId()))
+                    .collect(Collectors.toList()));
+            if (changedItems.isEmpty()) {
+                itemSearchIndex.restore(snapshot.indexNames);
+            }
+        }
+        if (!locationsChanged) {
+            searchResultCache.restoreMarkers(snapshot.markers);
+        }
+        if (changes.isEmpty()) {
+            searchResultCache.restoreResults(snapshot.results);
+        }
+        // Reference data is small: one query puts it back into the second-level cache
+        categoryService.getAllCategories();
+
+        log.info("Restored catalog snapshot v{} ({} items, {} markers, {} results), caught up {} changes",
+                snapshot.version, snapshot.items.size(), snapshot.markers.size(),
+                changes.isEmpty() ? snapshot.results.size() : 0, changes.size());
+        return caughtUpTo;
+    }
+}
@@ -0,0 +1,63 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.event.CatalogChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Monotonic version of the menu/location catalog, bumped after every committed write.
+// Cache keys include it, so a single bump makes every previously cached result unreachable.
+// With a shared cache tier the version is cluster-wide, so all nodes agree on the keys of shared entries.
+@Service
+public class CatalogVersionService {
+
+    @Autowired(required = false)
+    private SharedCacheTier sharedCacheTier;
+
+    private final AtomicLong version = new AtomicLong();
+
+    // A node joining the cluster adopts the shared version, so it can read entries others already cached
+    @PostConstruct
+    void init() {
+        if (sharedCacheTier != null) {
+            version.set(sharedCacheTier.catalogVersion());
+        }
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isRemote()) {
+            if (event.getRemoteVersion() != null) {
+                version.accumulateAndGet(event.getRemoteVersion(), Math::max);
+            } else if (sharedCacheTier != null) {
+                // Relayed outbox rows carry no version, and their origin already bumped the shared counter
+                // (the bus delivers the same change with it): catch up to the counter instead of counting
+                // the change again, which would leave this node ahead of the shared keys
+                version.accumulateAndGet(sharedCacheTier.catalogVersion(), Math::max);
+            } else {
+                version.incrementAndGet();
+            }
+            return;
+        }
+
+        Optional<Long> shared = sharedCacheTier != null
+                ? sharedCacheTier.incrementCatalogVersion()
+                : Optional.empty();
+        if (shared.isPresent()) {
+            version.accumulateAndGet(shared.get(), (current, next) -> Math.max(current + 1, next));
+        } else {
+            version.incrementAndGet();
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.cheko.backend.service;
 
 import com.cheko.backend.dto.CategoryDto;
+import com.cheko.backend.event.CatalogChangedEvent;
 import com.cheko.backend.model.Category;
 import com.cheko.backend.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,10 +26,26 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CatalogChangeRecorder changeRecorder;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
     // Get all categories ordered by name
     @Transactional(readOnly = true)
     public List<CategoryDto> getAllCategories() {
-        return categoryRepository.findAllOrderedByName()
+        return searchResultCache.snapshot(searchResultCache.key("categories", null, null), CategoryDto.class,
+                () -> categoryRepository.findAllOrderedByName()
+                        .stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList()));
+    }
+
+    // Active categories among the given ids (deleted or unknown ids are left out)
+    @Transactional(readOnly = true)
+    public List<CategoryDto> getCategoriesByIds(Collection<Long> ids) {
+        return categoryRepository.findActiveByIdIn(ids)
                 .stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
@@ -60,15 +82,11 @@ public class CategoryService {
         return counts;
     }
 
-    // Create new category
+    // Create new category (name uniqueness is enforced by uq_categories_name_active)
     public CategoryDto createCategory(CategoryDto categoryDto) {
-        // Check if category already exists
-        if (categoryRepository.existsByNameIgnoreCase(categoryDto.getName())) {
-            throw new RuntimeException("Category with name '" + categoryDto.getName() + "' already exists");
-        }
-
         Category category = convertToEntity(categoryDto);
-        Category savedCategory = categoryRepository.save(category);
+        Category savedCategory = saveAndFlush(category);
+        publishCategoryChange(savedCategory.getId(), CatalogChangedEvent.CREATED);
         return convertToDto(savedCategory);
     }
 
@@ -77,17 +95,40 @@ public class CategoryService {
         Category existingCategory = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
 
-        // Check if new name conflicts with existing category (excluding current one)
-        if (!existingCategory.getName().equalsIgnoreCase(categoryDto.getName()) &&
-            categoryRepository.existsByNameIgnoreCase(categoryDto.getName())) {
-            throw new RuntimeException("Category with name '" + categoryDto.getName() + "' already exists");
-        }
-
         existingCategory.setName(categoryDto.getName());
         existingCategory.setDescription(categoryDto.getDescription());
         existingCategory.setIconName(categoryDto.getIconName());
 
-        Category updatedCategory = categoryRepository.save(existingCategory);
+        Category updatedCategory = saveAndFlush(existingCategory);
+        publishCategoryChange(id, CatalogChangedEvent.UPDATED);
+        return convertToDto(updatedCategory);
+    }
+
+    // Partial update guarded by the category's version (If-Match); only changed columns are written
+    public CategoryDto patchCategory(Long id, long expectedVersion, CategoryDto patch) {
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new CategoryNotFoundException(id));
+        if (category.getVersion() != expectedVersion) {
+            throw new StaleVersionException("Category " + id + " is at version " + category.getVersion() + ", not " + expectedVersion);
+        }
+
+        if (patch.getName() != null) {
+            category.setName(patch.getName());
+        }
+        if (patch.getDescription() != null) {
+            category.setDescription(patch.getDescription());
+        }
+        if (patch.getIconName() != null) {
+            category.setIconName(patch.getIconName());
+        }
+
+        Category updatedCategory;
+        try {
+            updatedCategory = saveAndFlush(category);
+        } catch (OptimisticLockingFailureException e) {
+            throw new StaleVersionException("Category " + id + " was changed concurrently");
+        }
+        publishCategoryChange(id, CatalogChangedEvent.UPDATED);
         return convertToDto(updatedCategory);
     }
 
@@ -96,6 +137,7 @@ public class CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
         categoryRepository.delete(category); // This will trigger soft delete due to @SQLDelete annotation
+        publishCategoryChange(id, CatalogChangedEvent.DELETED);
     }
 
     // Check if category exists
@@ -110,9 +152,26 @@ public class CategoryService {
         return categoryRepository.findCategoriesWithAtLeastItems(minItems);
     }
 
+    // Flushes right away so a duplicate name is reported here instead of failing the commit
+    private Category saveAndFlush(Category category) {
+        try {
+            return categoryRepository.saveAndFlush(category);
+        } catch (DataIntegrityViolationException e) {
+            if (String.valueOf(e.getMostSpecificCause().getMessage()).contains("uq_categories_name_active")) {
+                throw new DuplicateNameException("Category with name '" + category.getName() + "' already exists");
+            }
+            throw e;
+        }
+    }
+
+    // Notify listeners (caches) once the surrounding transaction commits
+    private void publishCategoryChange(Long categoryId, String changeType) {
+        changeRecorder.record(CatalogChangedEvent.CATEGORIES, categoryId, changeType);
+    }
+
     // Convert Entity to DTO
     private CategoryDto convertToDto(Category category) {
-        return new CategoryDto(
+        CategoryDto dto = new CategoryDto(
                 category.getId(),
                 category.getName(),
                 category.getDescription(),
@@ -120,6 +179,8 @@ public class CategoryService {
                 category.getCreatedAt(),
                 category.getUpdatedAt()
         );
+        dto.setVersion(category.getVersion());
+        return dto;
     }
 
     // Convert DTO to Entity
@@ -130,5 +191,25 @@ public class CategoryService {
         category.setIconName(categoryDto.getIconName());
         return category;
     }
-}
 
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public static class CategoryNotFoundException extends RuntimeException {
+        public CategoryNotFoundException(Long id) {
+            super("Category not found with id: " + id);
+        }
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public static class DuplicateNameException extends RuntimeException {
+        public DuplicateNameException(String message) {
+            super(message);
+        }
+    }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public static class StaleVersionException extends RuntimeException {
+        public StaleVersionException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.dto.ItemBulkUpdateDto;
+import com.cheko.backend.dto.ItemBulkUpdateDto.Filter;
+import com.cheko.backend.dto.ItemBulkUpdateDto.Patch;
+import com.cheko.backend.dto.ItemBulkUpdateResultDto;
+import com.cheko.backend.event.CatalogChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Admin bulk mutations ("mark all Soups unavailable", "raise Drinks prices 5%") as one UPDATE ... RETURNING,
+// instead of loading and saving every item. Soft-deleted items are never touched. The update is recorded as
+// one bulk catalog change, so caches are flushed once; it lists the updated ids up to max-item-changes.
+@Service
+public class ItemBulkUpdateService {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemBulkUpdateService.class);
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogChangeRecorder changeRecorder;
+
+    @Value("${cheko.bulk-update.max-item-changes:500}")
+    private int maxItemChanges;
+
+    @Transactional
+    public ItemBulkUpdateResultDto update(ItemBulkUpdateDto request) {
+        Filter filter = request.getFilter() != null ? request.getFilter() : new Filter();
+        Patch patch = request.getPatch() != null ? request.getPatch() : new Patch();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        List<String> assignments = new ArrayList<>();
+        if (patch.getIsAvailable() != null) {
+            assignments.add("is_available = :setAvailable");
+            params.addValue("setAvailable", patch.getIsAvailable());
+        }
+        if (patch.getPricePercent() != null || patch.getPriceDelta() != null) {
+            BigDecimal factor = BigDecimal.ONE.add(patch.getPricePercent() != null
+                    ? patch.getPricePercent().movePointLeft(2) : BigDecimal.ZERO);
+            BigDecimal delta = patch.getPriceDelta() != null ? patch.getPriceDelta() : BigDecimal.ZERO;
+            // Prices never go below zero
+            assignments.add("price = GREATEST(ROUND(price * :priceFactor + :priceDelta, 2), 0)");
+            params.addValue("priceFactor", factor);
+            params.addValue("priceDelta", delta);
+        }
+        if (patch.getImageUrl() != null) {
+            if (patch.getImageUrl().length() > 500) {
+                throw new InvalidBulkUpdateException("Image URL is longer than 500 characters");
+            }
+            assignments.add("image_url = :setImageUrl");
+            params.addValue("setImageUrl", patch.getImageUrl().isBlank() ? null : patch.getImageUrl());
+        }
+        if (assignments.isEmpty()) {
+            throw new InvalidBulkUpdateException("Patch must change at least one of isAvailable, pricePercent, priceDelta, imageUrl");
+        }
+        assignments.add("updated_at = NOW()");
+        // Invalidates If-Match versions held by clients, like an entity update would
+        assignments.add("version = version + 1");
+
+        List<String> conditions = new ArrayList<>();
+        conditions.add("deleted_at IS NULL");
+        if (filter.getCategoryId() != null) {
+            conditions.add("category_id = :categoryId");
+            params.addValue("categoryId", filter.getCategoryId());
+        }
+        if (filter.getCategoryName() != null) {
+            conditions.add("category_id IN (SELECT id FROM categories WHERE LOWER(name) = LOWER(:categoryName) AND deleted_at IS NULL)");
+            params.addValue("categoryName", filter.getCategoryName().trim());
+        }
+        if (filter.getIds() != null) {
+            if (filter.getIds().isEmpty()) {
+                return new ItemBulkUpdateResultDto(List.of());
+            }
+            conditions.add("id IN (:ids)");
+            params.addValue("ids", filter.getIds());
+        }
+        if (filter.getIsAvailable() != null) {
+            conditions.add("is_available = :isAvailable");
+            params.addValue("isAvailable", filter.getIsAvailable());
+        }
+        if (filter.getMinCalories() != null) {
+            conditions.add("calories >= :minCalories");
+            params.addValue("minCalories", filter.getMinCalories());
+        }
+        if (filter.getMaxCalories() != null) {
+            conditions.add("calories <= :maxCalories");
+            params.addValue("maxCalories", filter.getMaxCalories());
+        }
+        if (conditions.size() == 1) {
+            // Guard against patching the whole menu by accident
+            throw new InvalidBulkUpdateException("Filter must restrict at least one of categoryId, categoryName, ids, isAvailable, minCalories, maxCalories");
+        }
+
+        String sql = "UPDATE items SET " + String.join(", ", assignments) +
+                " WHERE " + String.join(" AND ", conditions) + " RETURNING id";
+        List<Long> ids = jdbcTemplate.queryForList(sql, params, Long.class);
+        // The ids let the stream and delta sync stay incremental; past the limit clients resync from a full snapshot
+        changeRecorder.recordBulk(CatalogChangedEvent.ITEMS, ids.size() > maxItemChanges ? List.of() : ids,
+                CatalogChangedEvent.UPDATED);
+        log.info("Bulk update changed {} items", ids.size());
+        return new ItemBulkUpdateResultDto(ids);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class InvalidBulkUpdateException extends RuntimeException {
+        public InvalidBulkUpdateException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.dto.ItemDto;
+import com.cheko.backend.dto.ItemImportResultDto;
+import com.cheko.backend.dto.ItemImportResultDto.RowError;
+import com.cheko.backend.event.CatalogChangedEvent;
+import com.cheko.backend.model.Category;
+import com.cheko.backend.repository.CategoryRepository;
+import com.cheko.backend.repository.ItemRepository;
+import com.cheko.backend.util.CsvReader;
+import com.cheko.backend.util.TextAnalyzer;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk menu import from a JSON array or CSV upload, read as a stream.
+// Names are checked against an in-memory set of existing names, categories are resolved from one query,
+// and valid rows are inserted in chunks with JDBC batches (one transaction and one catalog change per chunk).
+// Invalid rows are reported with their position instead of failing the whole import.
+@Service
+public class ItemImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemImportService.class);
+
+    // Same block size as Item's pooled sequence generator: each nextval reserves the ids up to the returned value
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String INSERT_SQL = "INSERT INTO items (id, name, description, price, calories, image_url, category_id, " +
+            "is_available, total_orders, is_best_seller, search_text, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, false, ?, ?, ?)";
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CatalogChangeRecorder changeRecorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${cheko.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${cheko.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ItemImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Body is a JSON array of items (fields as in ItemDto; categoryId or categoryName)
+    public ItemImportResultDto importJson(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ImportFormatException("Expected a JSON array of items");
+            }
+            return importRows(() -> {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return null;
+                }
+                JsonNode node = parser.readValueAsTree();
+                try {
+                    return objectMapper.treeToValue(node, ItemDto.class);
+                } catch (JsonProcessingException e) {
+                    throw new InvalidRowException(node.path("name").asText(null), "Invalid item: " + e.getOriginalMessage());
+                }
+            });
+        }
+    }
+
+    // First line is a header: name, description, price, calories, imageUrl, categoryId or category, isAvailable
+    public ItemImportResultDto importCsv(InputStream body) throws IOException {
+        CsvReader csv = new CsvReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new ImportFormatException("CSV header line is missing");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price")) {
+            throw new ImportFormatException("CSV header must contain at least name and price");
+        }
+        return importRows(() -> {
+            List<String> record = csv.next();
+            return record == null ? null : fromCsv(record, columns);
+        });
+    }
+
+    private ItemImportResultDto importRows(RowSource source) throws IOException {
+        Set<String> names = new HashSet<>(itemRepository.findAllActiveNamesLowerCase());
+        Map<Long, Category> categoriesById = new HashMap<>();
+        Map<String, Category> categoriesByName = new HashMap<>();
+        for (Category category : categoryRepository.findAllOrderedByName()) {
+            categoriesById.put(category.getId(), category);
+            categoriesByName.put(category.getName().toLowerCase(Locale.ROOT), category);
+        }
+
+        ItemImportResultDto result = new ItemImportResultDto();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        long started = System.currentTimeMillis();
+        while (true) {
+            int rowNumber = result.getReceived() + 1;
+            ItemDto item;
+            try {
+                item = source.next();
+            } catch (InvalidRowException e) {
+                result.setReceived(rowNumber);
+                fail(result, rowNumber, e.name, e.getMessage());
+                continue;
+            }
+            if (item == null) {
+                break;
+            }
+            result.setReceived(rowNumber);
+
+            String error = validate(item, names, categoriesById, categoriesByName);
+            if (error != null) {
+                fail(result, rowNumber, item.getName(), error);
+                continue;
+            }
+            names.add(item.getName().toLowerCase(Locale.ROOT));
+            chunk.add(new PendingRow(rowNumber, item));
+            if (chunk.size() == chunkSize) {
+                insertChunk(chunk, result, names);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, result, names);
+        }
+        log.info("Imported {} of {} items ({} failed) in {} ms", result.getImported(), result.getReceived(),
+                result.getFailed(), System.currentTimeMillis() - started);
+        return result;
+    }
+
+    // Resolves the category onto the DTO; returns an error message or null when the row is valid
+    private String validate(ItemDto item, Set<String> names, Map<Long, Category> categoriesById,
+                            Map<String, Category> categoriesByName) {
+        String name = item.getName() == null ? null : item.getName().trim();
+        if (name == null || name.isEmpty()) {
+            return "Name is required";
+        }
+        if (name.length() > 100) {
+            return "Name is longer than 100 characters";
+        }
+        item.setName(name);
+        if (names.contains(name.toLowerCase(Locale.ROOT))) {
+            return "Item with name '" + name + "' already exists";
+        }
+        if (item.getPrice() == null || item.getPrice().signum() < 0) {
+            return "Price is required and must not be negative";
+        }
+        item.setPrice(item.getPrice().setScale(2, RoundingMode.HALF_UP));
+        if (item.getPrice().precision() > 10) {
+            return "Price is too large";
+        }
+        if (item.getImageUrl() != null && item.getImageUrl().length() > 500) {
+            return "Image URL is longer than 500 characters";
+        }
+        Category category = item.getCategoryId() != null
+                ? categoriesById.get(item.getCategoryId())
+                : item.getCategoryName() != null ? categoriesByName.get(item.getCategoryName().trim().toLowerCase(Locale.ROOT)) : null;
+        if (category == null) {
+            return item.getCategoryId() != null ? "Category not found with id: " + item.getCategoryId()
+                    : item.getCategoryName() != null ? "Category not found: " + item.getCategoryName()
+                    : "Category is required";
+        }
+        item.setCategoryId(category.getId());
+        return null;
+    }
+
+    private void insertChunk(List<PendingRow> chunk, ItemImportResultDto result, Set<String> names) {
+        assignIds(chunk);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), (statement, row) -> bind(statement, row.item, now));
+                // One change for the whole chunk: caches are dropped once instead of per row
+                changeRecorder.record(CatalogChangedEvent.ITEMS, null, CatalogChangedEvent.CREATED);
+            });
+            result.setImported(result.getImported() + chunk.size());
+        } catch (DataAccessException e) {
+            // Something in the batch was rejected by the database: isolate it row by row
+            log.warn("Import batch of {} rows failed ({}), retrying rows individually", chunk.size(), e.getMostSpecificCause().getMessage());
+            for (PendingRow row : chunk) {
+                insertSingle(row, result, names);
+            }
+        }
+    }
+
+    private void insertSingle(PendingRow row, ItemImportResultDto result, Set<String> names) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(INSERT_SQL, statement -> bind(statement, row.item, LocalDateTime.now()));
+                changeRecorder.record(CatalogChangedEvent.ITEMS, null, CatalogChangedEvent.CREATED);
+            });
+            result.setImported(result.getImported() + 1);
+        } catch (DataAccessException e) {
+            names.remove(row.item.getName().toLowerCase(Locale.ROOT));
+            fail(result, row.number, row.item.getName(), e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    // Reserves ids from items_id_seq a block at a time (one nextval per 50 rows instead of one per row)
+    private void assignIds(List<PendingRow> chunk) {
+        int blocks = (chunk.size() + ID_BLOCK_SIZE - 1) / ID_BLOCK_SIZE;
+        List<Long> highs = jdbcTemplate.queryForList("SELECT nextval('items_id_seq') FROM generate_series(1, ?)",
+                Long.class, blocks);
+        int row = 0;
+        for (Long high : highs) {
+            for (long id = Math.max(high - ID_BLOCK_SIZE + 1, 1); id <= high && row < chunk.size(); id++) {
+                chunk.get(row++).item.setId(id);
+            }
+        }
+        // Only short of ids if a block was cut off at the sequence start
+        while (row < chunk.size()) {
+            chunk.get(row++).item.setId(jdbcTemplate.queryForObject("SELECT nextval('items_id_seq')", Long.class));
+        }
+    }
+
+    private static void bind(PreparedStatement statement, ItemDto item, LocalDateTime now) throws SQLException {
+        statement.setLong(1, item.getId());
+        statement.setString(2, item.getName());
+        statement.setString(3, item.getDescription());
+        statement.setBigDecimal(4, item.getPrice());
+        if (item.getCalories() != null) {
+            statement.setInt(5, item.getCalories());
+        } else {
+            statement.setNull(5, Types.INTEGER);
+        }
+        statement.setString(6, item.getImageUrl());
+        statement.setLong(7, item.getCategoryId());
+        statement.setBoolean(8, item.getIsAvailable() == null || item.getIsAvailable());
+        statement.setString(9, TextAnalyzer.indexForm(item.getName(), item.getDescription()));
+        statement.setTimestamp(10, Timestamp.valueOf(now));
+        statement.setTimestamp(11, Timestamp.valueOf(now));
+    }
+
+    private void fail(ItemImportResultDto result, int row, String name, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new RowError(row, name, message));
+        }
+    }
+
+    private static ItemDto fromCsv(List<String> record, Map<String, Integer> columns) {
+        String name = field(record, columns, "name");
+        try {
+            ItemDto item = new ItemDto();
+            item.setName(name);
+            item.setDescription(field(record, columns, "description"));
+            String price = field(record, columns, "price");
+            item.setPrice(price != null ? new BigDecimal(price) : null);
+            String calories = field(record, columns, "calories");
+            item.setCalories(calories != null ? Integer.valueOf(calories) : null);
+            item.setImageUrl(field(record, columns, "imageurl"));
+            String categoryId = field(record, columns, "categoryid");
+            item.setCategoryId(categoryId != null ? Long.valueOf(categoryId) : null);
+            String category = field(record, columns, "category");
+            item.setCategoryName(category != null ? category : field(record, columns, "categoryname"));
+            String available = field(record, columns, "isavailable");
+            if (available == null) {
+                available = field(record, columns, "available");
+            }
+            item.setIsAvailable(available != null ? Boolean.valueOf(available) : null);
+            return item;
+        } catch (NumberFormatException e) {
+            throw new InvalidRowException(name, "Invalid number: " + e.getMessage());
+        }
+    }
+
+    // Trimmed value of the column, or null when the column is absent or the value blank
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private interface RowSource {
+        // Next row, or null at the end of the upload
+        ItemDto next() throws IOException;
+    }
+
+    private record PendingRow(int number, ItemDto item) {}
+
+    private static class InvalidRowException extends RuntimeException {
+        private final String name;
+
+        InvalidRowException(String name, String message) {
+            super(message);
+            this.name = name;
+        }
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class ImportFormatException extends RuntimeException {
+        public ImportFormatException(String message) {
+            super(message);
+        }
+    }
+}
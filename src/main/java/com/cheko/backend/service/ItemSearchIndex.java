@@ -0,0 +1,186 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.event.CatalogChangedEvent;
+import com.cheko.backend.repository.ItemRepository;
+import com.cheko.backend.util.FuzzyMatcher;
+import com.cheko.backend.util.TextAnalyzer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+// In-memory typo-tolerant index over item names.
+// Candidates come from a trigram inverted index and are verified with a bounded edit distance.
+@Component
+public class ItemSearchIndex {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private volatile Snapshot snapshot;
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    // Rank item ids by how well their names match the (possibly misspelled) query
+    public List<Long> search(String query) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        Snapshot current = currentSnapshot();
+        Map<Long, Double> scores = new HashMap<>();
+        for (String queryTerm : queryTerms) {
+            Map<Long, Double> best = new HashMap<>();
+            for (Map.Entry<String, Double> match : matchTerm(current, queryTerm).entrySet()) {
+                for (Long itemId : current.itemsByTerm.get(match.getKey())) {
+                    best.merge(itemId, match.getValue(), Math::max);
+                }
+            }
+            best.forEach((itemId, score) -> scores.merge(itemId, score, Double::sum));
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(e -> current.names.get(e.getKey())))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    // "Did you mean" - replace each query term with its closest dictionary term
+    public Optional<String> suggest(String query) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Snapshot current = currentSnapshot();
+        List<String> corrected = new ArrayList<>();
+        boolean changed = false;
+        for (String queryTerm : queryTerms) {
+            String replacement = matchTerm(current, queryTerm).entrySet().stream()
+                    .max(Map.Entry.<String, Double>comparingByValue()
+                            .thenComparing(e -> current.itemsByTerm.get(e.getKey()).size()))
+                    .map(Map.Entry::getKey)
+                    .orElse(queryTerm);
+            changed |= !replacement.equals(queryTerm);
+            corrected.add(replacement);
+        }
+        return changed ? Optional.of(String.join(" ", corrected)) : Optional.empty();
+    }
+
+    // Indexed item names, or empty if the index has not been built (for CatalogSnapshotService)
+    public Map<Long, String> indexedNames() {
+        Snapshot current = snapshot;
+        return current != null ? new HashMap<>(current.names) : Map.of();
+    }
+
+    // Build the index from names restored from a catalog snapshot instead of querying the database
+    public void restore(Map<Long, String> names) {
+        buildLock.lock();
+        try {
+            if (snapshot == null && !names.isEmpty()) {
+                snapshot = index(names);
+            }
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    // Drop the index whenever items change; it is rebuilt lazily on the next search
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (CatalogChangedEvent.ITEMS.equals(event.getEntityType())) {
+            snapshot = null;
+        }
+    }
+
+    // Dictionary terms within the edit bound of the query term, with a similarity score in (0, 1]
+    private Map<String, Double> matchTerm(Snapshot current, String queryTerm) {
+        int maxEdits = FuzzyMatcher.maxEditsFor(queryTerm.length());
+        int minShared = FuzzyMatcher.minSharedTrigrams(queryTerm.length(), maxEdits);
+
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : FuzzyMatcher.trigrams(queryTerm)) {
+            for (String term : current.termsByTrigram.getOrDefault(gram, List.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+
+        Map<String, Double> matches = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            String term = candidate.getKey();
+            if (candidate.getValue() < minShared) {
+                continue;
+            }
+            int distance = FuzzyMatcher.boundedDistance(queryTerm, term, maxEdits);
+            if (distance <= maxEdits) {
+                matches.put(term, 1.0 - (double) distance / (queryTerm.length() + 1));
+            } else if (term.startsWith(queryTerm)) {
+                // Prefix matches keep search-as-you-type working ("croiss" -> "croissant")
+                matches.put(term, 0.5);
+            }
+        }
+        return matches;
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            buildLock.lock(); // not synchronized: the build queries the database, which would pin a virtual thread
+            try {
+                current = snapshot;
+                if (current == null) {
+                    current = build();
+                    snapshot = current;
+                }
+            } finally {
+                buildLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Snapshot build() {
+        Map<Long, String> names = new HashMap<>();
+        for (Object[] row : itemRepository.findAllIdAndName()) {
+            names.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        return index(names);
+    }
+
+    private static Snapshot index(Map<Long, String> names) {
+        Snapshot built = new Snapshot();
+        names.forEach((id, name) -> {
+            built.names.put(id, name);
+            for (String term : tokenize(name)) {
+                built.itemsByTerm.computeIfAbsent(term, t -> new ArrayList<>()).add(id);
+            }
+        });
+        for (String term : built.itemsByTerm.keySet()) {
+            for (String gram : FuzzyMatcher.trigrams(term)) {
+                built.termsByTrigram.computeIfAbsent(gram, g -> new ArrayList<>()).add(term);
+            }
+        }
+        return built;
+    }
+
+    // Normalized but unstemmed terms, so suggestions stay readable
+    private static List<String> tokenize(String text) {
+        return TextAnalyzer.tokenize(TextAnalyzer.normalize(text));
+    }
+
+    // Immutable once published
+    private static class Snapshot {
+        private final Map<Long, String> names = new HashMap<>();
+        private final Map<String, List<Long>> itemsByTerm = new HashMap<>();
+        private final Map<String, List<String>> termsByTrigram = new HashMap<>();
+    }
+}
@@ -1,22 +1,39 @@
 package com.cheko.backend.service;
 
 import com.cheko.backend.dto.ItemDto;
+import com.cheko.backend.event.CatalogChangedEvent;
 import com.cheko.backend.model.Category;
 import com.cheko.backend.model.Item;
 import com.cheko.backend.repository.CategoryRepository;
 import com.cheko.backend.repository.ItemRepository;
+import com.cheko.backend.util.TextAnalyzer;
+import com.cheko.backend.util.TopK;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,11 +46,32 @@ public class ItemService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    private CatalogChangeRecorder changeRecorder;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Value("${cheko.search.ranking.relevance-weight:0.6}")
+    private double relevanceWeight;
+
+    @Value("${cheko.search.ranking.popularity-weight:0.3}")
+    private double popularityWeight;
+
+    @Value("${cheko.search.ranking.best-seller-boost:0.1}")
+    private double bestSellerBoost;
+
+    // Cached list/search methods use SUPPORTS so that a cache hit never begins a transaction
+    // (and never borrows a pooled connection); on a miss the repository call runs in its own one.
+
     // Get all items with pagination
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Page<ItemDto> getAllItems(Pageable pageable) {
-        return itemRepository.findAllItems(pageable)
-                .map(this::convertToDto);
+        return searchResultCache.items(searchResultCache.key("all", null, pageable), pageable,
+                () -> itemRepository.findAllItems(pageable).map(this::convertToDto));
     }
 
     // Get item by ID
@@ -44,39 +82,135 @@ public class ItemService {
     }
 
     // Search items by name OR description (main search requirement)
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Page<ItemDto> searchItems(String query, Pageable pageable) {
         if (query == null || query.trim().isEmpty()) {
             return getAllItems(pageable);
         }
-        return itemRepository.searchByNameOrDescription(query.trim(), pageable)
-                .map(this::convertToDto);
+        return searchResultCache.items(searchResultCache.key("search", query, pageable), pageable,
+                () -> itemRepository.searchByNameOrDescription(query.trim(), TextAnalyzer.queryForm(query), pageable)
+                        .map(this::convertToDto));
     }
 
-    // Filter items by dish type/category (main filter requirement)
+    // Search ranked by text relevance blended with popularity (total orders, best seller badge).
+    // Only the requested page's worth of top candidates is kept, in a bounded heap.
+    @Transactional(readOnly = true)
+    public Page<ItemDto> rankedSearchItems(String query, Pageable pageable) {
+        if (query == null || query.trim().isEmpty()) {
+            return getAllItems(pageable);
+        }
+
+        String trimmed = query.trim().toLowerCase(Locale.ROOT);
+        String analyzedQuery = TextAnalyzer.queryForm(query);
+        List<Item> candidates = itemRepository.findSearchCandidates(trimmed, analyzedQuery);
+
+        int maxOrders = 0;
+        for (Item item : candidates) {
+            maxOrders = Math.max(maxOrders, item.getTotalOrders());
+        }
+        double popularityScale = Math.log1p(maxOrders);
+
+        int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), candidates.size());
+        TopK<ScoredItem> top = new TopK<>(limit, Comparator.comparingDouble(ScoredItem::score)
+                .thenComparing(scored -> scored.item().getName(), Comparator.reverseOrder()));
+        for (Item item : candidates) {
+            double popularity = popularityScale > 0 ? Math.log1p(item.getTotalOrders()) / popularityScale : 0;
+            double score = relevanceWeight * textRelevance(item, trimmed, analyzedQuery)
+                    + popularityWeight * popularity
+                    + (Boolean.TRUE.equals(item.getIsBestSeller()) ? bestSellerBoost : 0);
+            top.offer(new ScoredItem(item, score));
+        }
+
+        List<ScoredItem> ranked = top.toSortedList();
+        List<ItemDto> content = ranked.subList((int) Math.min(pageable.getOffset(), ranked.size()), ranked.size())
+                .stream()
+                .map(scored -> {
+                    ItemDto dto = convertToDto(scored.item());
+                    dto.setScore(scored.score());
+                    return dto;
+                })
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, candidates.size());
+    }
+
+    // Typo-tolerant search over item names, ranked by closeness of the match
+    @Transactional(readOnly = true)
+    public Page<ItemDto> fuzzySearchItems(String query, Pageable pageable) {
+        if (query == null || query.trim().isEmpty()) {
+            return getAllItems(pageable);
+        }
+
+        List<Long> rankedIds = itemSearchIndex.search(query.trim());
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+
+        Map<Long, Item> itemsById = itemRepository.findAllById(pageIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<ItemDto> content = pageIds.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, rankedIds.size());
+    }
+
+    // "Did you mean" suggestion for a query that matched nothing
     @Transactional(readOnly = true)
+    public Optional<String> suggestQuery(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        return itemSearchIndex.suggest(query.trim());
+    }
+
+    // Filter items by dish type/category (main filter requirement)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Page<ItemDto> filterByDishType(String dishType, Pageable pageable) {
-        return itemRepository.findByCategoryName(dishType, pageable)
-                .map(this::convertToDto);
+        return searchResultCache.items(searchResultCache.key("type", null, pageable, normalizeFilter(dishType)), pageable,
+                () -> itemRepository.findByCategoryName(dishType, pageable)
+                        .map(this::convertToDto));
     }
 
     // Combined search and filter (main combined requirement)
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Page<ItemDto> searchAndFilter(String query, String dishType, Boolean bestSeller, 
                                         Boolean available, Pageable pageable) {
-        return itemRepository.searchAndFilter(query, dishType, bestSeller, available, pageable)
-                .map(this::convertToDto);
+        return searchResultCache.items(
+                searchResultCache.key("combined", query, pageable, normalizeFilter(dishType), bestSeller, available), pageable,
+                () -> itemRepository.searchAndFilter(query == null ? null : query.trim(), TextAnalyzer.queryForm(query), dishType, bestSeller, available, pageable)
+                        .map(this::convertToDto));
     }
 
-    // Get best seller items
+    // Active items among the given ids (deleted or unknown ids are left out)
     @Transactional(readOnly = true)
-    public List<ItemDto> getBestSellerItems() {
-        return itemRepository.findBestSellers()
+    public List<ItemDto> getItemsByIds(Collection<Long> ids) {
+        return itemRepository.findActiveWithCategoryByIdIn(ids)
                 .stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
+    // Every active item, unpaged (full menu snapshot)
+    @Transactional(readOnly = true)
+    public List<ItemDto> getAllItemsList() {
+        return itemRepository.findAllActiveWithCategory()
+                .stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    // Get best seller items
+    @Transactional(readOnly = true)
+    public List<ItemDto> getBestSellerItems() {
+        return searchResultCache.snapshot(searchResultCache.key("best-sellers", null, null), ItemDto.class,
+                () -> itemRepository.findBestSellers()
+                        .stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList()));
+    }
+
     // Get item counts per category (for category cards display)
     @Transactional(readOnly = true)
     public Map<String, Long> getItemCountsByCategory() {
@@ -96,44 +230,30 @@ public class ItemService {
 
     // Increment order count when item is ordered
     public void incrementOrderCount(Long itemId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("Item not found with id: " + itemId));
-        
-        item.incrementOrderCount();
-        itemRepository.save(item);
+        if (itemRepository.incrementTotalOrders(itemId) == 0) {
+            throw new RuntimeException("Item not found with id: " + itemId);
+        }
     }
 
-    // Create new item
+    // Create new item (name uniqueness is enforced by uq_items_name_active)
     public ItemDto createItem(ItemDto itemDto) {
-        // Check if item already exists
-        if (itemRepository.existsByNameIgnoreCase(itemDto.getName())) {
-            throw new RuntimeException("Item with name '" + itemDto.getName() + "' already exists");
-        }
-
         // Get category
-        Category category = categoryRepository.findById(itemDto.getCategoryId())
-                .orElseThrow(() -> new RuntimeException("Category not found with id: " + itemDto.getCategoryId()));
+        Category category = findCategory(itemDto.getCategoryId());
 
         Item item = convertToEntity(itemDto, category);
-        Item savedItem = itemRepository.save(item);
+        Item savedItem = saveAndFlush(item);
+        publishItemChange(savedItem.getId(), CatalogChangedEvent.CREATED);
         return convertToDto(savedItem);
     }
 
     // Update item
     public ItemDto updateItem(Long id, ItemDto itemDto) {
         Item existingItem = itemRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Item not found with id: " + id));
-
-        // Check if new name conflicts with existing item (excluding current one)
-        if (!existingItem.getName().equalsIgnoreCase(itemDto.getName()) &&
-            itemRepository.existsByNameIgnoreCase(itemDto.getName())) {
-            throw new RuntimeException("Item with name '" + itemDto.getName() + "' already exists");
-        }
+                .orElseThrow(() -> new ItemNotFoundException(id));
 
         // Get category if changed
         if (!existingItem.getCategory().getId().equals(itemDto.getCategoryId())) {
-            Category category = categoryRepository.findById(itemDto.getCategoryId())
-                    .orElseThrow(() -> new RuntimeException("Category not found with id: " + itemDto.getCategoryId()));
+            Category category = findCategory(itemDto.getCategoryId());
             existingItem.setCategory(category);
         }
 
@@ -145,7 +265,52 @@ public class ItemService {
         existingItem.setImageUrl(itemDto.getImageUrl());
         existingItem.setIsAvailable(itemDto.getIsAvailable());
 
-        Item updatedItem = itemRepository.save(existingItem);
+        Item updatedItem = saveAndFlush(existingItem);
+        publishItemChange(id, CatalogChangedEvent.UPDATED);
+        return convertToDto(updatedItem);
+    }
+
+    // Partial update guarded by the item's version (If-Match): only the fields present in the patch change,
+    // and with @DynamicUpdate only those columns are written, in an UPDATE ... WHERE id = ? AND version = ?
+    public ItemDto patchItem(Long id, long expectedVersion, ItemDto patch) {
+        Item item = itemRepository.findById(id)
+                .orElseThrow(() -> new ItemNotFoundException(id));
+        if (item.getVersion() != expectedVersion) {
+            throw new StaleVersionException("Item " + id + " is at version " + item.getVersion() + ", not " + expectedVersion);
+        }
+
+        if (patch.getCategoryId() != null && !patch.getCategoryId().equals(item.getCategory().getId())) {
+            // Categories are second-level cached: usually no query
+            Category category = findCategory(patch.getCategoryId());
+            item.setCategory(category);
+        }
+        if (patch.getName() != null) {
+            item.setName(patch.getName());
+        }
+        if (patch.getDescription() != null) {
+            item.setDescription(patch.getDescription());
+        }
+        if (patch.getPrice() != null) {
+            item.setPrice(patch.getPrice());
+        }
+        if (patch.getCalories() != null) {
+            item.setCalories(patch.getCalories());
+        }
+        if (patch.getImageUrl() != null) {
+            item.setImageUrl(patch.getImageUrl());
+        }
+        if (patch.getIsAvailable() != null) {
+            item.setIsAvailable(patch.getIsAvailable());
+        }
+
+        Item updatedItem;
+        try {
+            updatedItem = saveAndFlush(item);
+        } catch (OptimisticLockingFailureException e) {
+            // Another admin committed between our read and our write
+            throw new StaleVersionException("Item " + id + " was changed concurrently");
+        }
+        publishItemChange(id, CatalogChangedEvent.UPDATED);
         return convertToDto(updatedItem);
     }
 
@@ -154,25 +319,35 @@ public class ItemService {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Item not found with id: " + id));
         itemRepository.delete(item); // This will trigger soft delete due to @SQLDelete annotation
+        publishItemChange(id, CatalogChangedEvent.DELETED);
     }
 
     // Update best sellers based on total orders (scheduled task)
     @Scheduled(fixedRate = 3600000) // Run every hour
     public void updateBestSellers() {
+        Set<Long> previousIds = itemRepository.findBestSellers().stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+
         // Reset all best sellers
         itemRepository.resetAllBestSellers();
         
         // Get top 5 most ordered items
         List<Item> topItems = itemRepository.findTopItemsByOrders(PageRequest.of(0, 5));
+        List<Long> topItemIds = topItems.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
         
-        if (!topItems.isEmpty()) {
-            List<Long> topItemIds = topItems.stream()
-                    .map(Item::getId)
-                    .collect(Collectors.toList());
-            
+        if (!topItemIds.isEmpty()) {
             // Mark them as best sellers
             itemRepository.setBestSellers(topItemIds);
         }
+
+        // Record only the items whose badge actually changed, so change feeds stay incremental
+        Set<Long> changedIds = new HashSet<>(previousIds);
+        changedIds.addAll(topItemIds);
+        changedIds.removeIf(id -> previousIds.contains(id) && topItemIds.contains(id));
+        changedIds.forEach(id -> publishItemChange(id, CatalogChangedEvent.UPDATED));
     }
 
     // Manually refresh best sellers
@@ -181,22 +356,74 @@ public class ItemService {
     }
 
     // Filter by availability
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Page<ItemDto> filterByAvailability(Boolean available, Pageable pageable) {
-        return itemRepository.findByAvailability(available, pageable)
-                .map(this::convertToDto);
+        return searchResultCache.items(searchResultCache.key("availability", null, pageable, available), pageable,
+                () -> itemRepository.findByAvailability(available, pageable)
+                        .map(this::convertToDto));
     }
 
     // Filter by calorie range
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Page<ItemDto> filterByCalorieRange(Integer minCalories, Integer maxCalories, Pageable pageable) {
-        return itemRepository.findByCalorieRange(minCalories, maxCalories, pageable)
-                .map(this::convertToDto);
+        return searchResultCache.items(searchResultCache.key("calories", null, pageable, minCalories, maxCalories), pageable,
+                () -> itemRepository.findByCalorieRange(minCalories, maxCalories, pageable)
+                        .map(this::convertToDto));
+    }
+
+    // Text relevance in [0, 1]: exact name > name prefix > name substring > analyzed match > description
+    private double textRelevance(Item item, String query, String analyzedQuery) {
+        String name = item.getName().toLowerCase(Locale.ROOT);
+        if (name.equals(query)) {
+            return 1.0;
+        }
+        if (name.startsWith(query)) {
+            return 0.85;
+        }
+        if (name.contains(query)) {
+            return 0.7;
+        }
+        if (analyzedQuery != null && item.getSearchText() != null && item.getSearchText().contains(analyzedQuery)) {
+            return 0.5;
+        }
+        return 0.3; // matched on description only
+    }
+
+    private static String normalizeFilter(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record ScoredItem(Item item, double score) {}
+
+    // Category referenced by a request body; a missing or unknown id is the caller's mistake
+    private Category findCategory(Long categoryId) {
+        if (categoryId == null) {
+            throw new UnknownCategoryException("categoryId is required");
+        }
+        return categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new UnknownCategoryException("Category not found with id: " + categoryId));
+    }
+
+    // Flushes right away so a duplicate name is reported here instead of failing the commit
+    private Item saveAndFlush(Item item) {
+        try {
+            return itemRepository.saveAndFlush(item);
+        } catch (DataIntegrityViolationException e) {
+            if (String.valueOf(e.getMostSpecificCause().getMessage()).contains("uq_items_name_active")) {
+                throw new DuplicateNameException("Item with name '" + item.getName() + "' already exists");
+            }
+            throw e;
+        }
+    }
+
+    // Notify listeners (search index, caches) once the surrounding transaction commits
+    private void publishItemChange(Long itemId, String changeType) {
+        changeRecorder.record(CatalogChangedEvent.ITEMS, itemId, changeType);
     }
 
     // Convert Entity to DTO
     private ItemDto convertToDto(Item item) {
-        return new ItemDto(
+        ItemDto dto = new ItemDto(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
@@ -209,6 +436,8 @@ public class ItemService {
                 item.getTotalOrders(),
                 item.getIsBestSeller()
         );
+        dto.setVersion(item.getVersion());
+        return dto;
     }
 
     // Convert DTO to Entity
@@ -223,5 +452,32 @@ public class ItemService {
         item.setIsAvailable(itemDto.getIsAvailable());
         return item;
     }
-}
 
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public static class ItemNotFoundException extends RuntimeException {
+        public ItemNotFoundException(Long id) {
+            super("Item not found with id: " + id);
+        }
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class UnknownCategoryException extends RuntimeException {
+        public UnknownCategoryException(String message) {
+            super(message);
+        }
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public static class DuplicateNameException extends RuntimeException {
+        public DuplicateNameException(String message) {
+            super(message);
+        }
+    }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public static class StaleVersionException extends RuntimeException {
+        public StaleVersionException(String message) {
+            super(message);
+        }
+    }
+}
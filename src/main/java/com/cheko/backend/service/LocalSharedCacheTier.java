@@ -0,0 +1,82 @@
+package com.cheko.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Embedded stand-in for the shared tier (cheko.cache.shared.mode=local).
+// Same semantics as the Redis tier within a single JVM, for local development and tests.
+@Component
+@ConditionalOnProperty(name = "cheko.cache.shared.mode", havingValue = "local")
+public class LocalSharedCacheTier implements SharedCacheTier {
+
+    private final Cache<String, Entry> entries;
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+
+    public LocalSharedCacheTier(@Value("${cheko.cache.shared.local.max-entries:10000}") long maxEntries) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(entries.getIfPresent(key)).map(Entry::value);
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        entries.put(key, new Entry(value, ttl));
+    }
+
+    @Override
+    public long catalogVersion() {
+        return catalogVersion.get();
+    }
+
+    @Override
+    public Optional<Long> incrementCatalogVersion() {
+        return Optional.of(catalogVersion.incrementAndGet());
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        subscribers.getOrDefault(channel, List.of()).forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    private record Entry(String value, Duration ttl) {}
+}
@@ -4,12 +4,15 @@ import com.cheko.backend.dto.LocationDto;
 import com.cheko.backend.dto.MapMarkerDto;
 import com.cheko.backend.model.Location;
 import com.cheko.backend.repository.LocationRepository;
+import com.cheko.backend.util.TextAnalyzer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -20,13 +23,17 @@ public class LocationService {
     @Autowired
     private LocationRepository locationRepository;
 
+    @Autowired
+    private SearchResultCache searchResultCache;
+
     // Get all locations for map display
     @Transactional(readOnly = true)
     public List<MapMarkerDto> getAllMapMarkers() {
-        return locationRepository.findAllActiveLocations()
-                .stream()
-                .map(this::convertToMapMarkerDto)
-                .collect(Collectors.toList());
+        return searchResultCache.markers(searchResultCache.key("markers:all", null, null),
+                () -> locationRepository.findAllActiveLocations()
+                        .stream()
+                        .map(this::convertToMapMarkerDto)
+                        .collect(Collectors.toList()));
     }
 
     // Get location by branch ID
@@ -36,61 +43,52 @@ public class LocationService {
                 .map(this::convertToLocationDto);
     }
 
+    // Cached search methods use SUPPORTS so that a cache hit never begins a transaction
+
     // Global search for map markers
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<MapMarkerDto> searchMapMarkers(String query) {
         if (query == null || query.trim().isEmpty()) {
             return getAllMapMarkers();
         }
-        return locationRepository.searchGlobal(query.trim())
-                .stream()
-                .map(this::convertToMapMarkerDto)
-                .collect(Collectors.toList());
+        return searchResultCache.markers(searchResultCache.key("markers:search", query, null),
+                () -> toMarkers(locationRepository.searchGlobal(query.trim(), TextAnalyzer.queryForm(query))));
     }
 
     // Search markers by branch name
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<MapMarkerDto> searchMarkersByBranchName(String query) {
-        return locationRepository.searchByBranchName(query)
-                .stream()
-                .map(this::convertToMapMarkerDto)
-                .collect(Collectors.toList());
+        return searchResultCache.markers(searchResultCache.key("markers:branch", query, null),
+                () -> toMarkers(locationRepository.searchByBranchName(query == null ? null : query.trim(), TextAnalyzer.queryForm(query))));
     }
 
     // Search markers by address
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<MapMarkerDto> searchMarkersByAddress(String query) {
-        return locationRepository.searchByAddress(query)
-                .stream()
-                .map(this::convertToMapMarkerDto)
-                .collect(Collectors.toList());
+        return searchResultCache.markers(searchResultCache.key("markers:address", query, null),
+                () -> toMarkers(locationRepository.searchByAddress(query == null ? null : query.trim(), TextAnalyzer.queryForm(query))));
     }
 
     // Filter markers by city
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<MapMarkerDto> filterMarkersByCity(String city) {
-        return locationRepository.findByCity(city)
-                .stream()
-                .map(this::convertToMapMarkerDto)
-                .collect(Collectors.toList());
+        return searchResultCache.markers(searchResultCache.key("markers:city", null, null, normalizeFilter(city)),
+                () -> toMarkers(locationRepository.findByCity(city)));
     }
 
     // Filter markers by state
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<MapMarkerDto> filterMarkersByState(String state) {
-        return locationRepository.findByState(state)
-                .stream()
-                .map(this::convertToMapMarkerDto)
-                .collect(Collectors.toList());
+        return searchResultCache.markers(searchResultCache.key("markers:state", null, null, normalizeFilter(state)),
+                () -> toMarkers(locationRepository.findByState(state)));
     }
 
     // Combined search and filter for map
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<MapMarkerDto> searchAndFilterMapMarkers(String query, String city, String state, Boolean isActive) {
-        return locationRepository.searchAndFilter(query, city, state, isActive)
-                .stream()
-                .map(this::convertToMapMarkerDto)
-                .collect(Collectors.toList());
+        return searchResultCache.markers(
+                searchResultCache.key("markers:combined", query, null, normalizeFilter(city), normalizeFilter(state), isActive),
+                () -> toMarkers(locationRepository.searchAndFilter(query, TextAnalyzer.queryForm(query), city, state, isActive)));
     }
 
     // Find nearby markers using radius
@@ -114,6 +112,16 @@ public class LocationService {
         return locationRepository.findDistinctStates();
     }
 
+    private List<MapMarkerDto> toMarkers(List<Location> locations) {
+        return locations.stream()
+                .map(this::convertToMapMarkerDto)
+                .collect(Collectors.toList());
+    }
+
+    private static String normalizeFilter(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
     // Convert Location to MapMarkerDto for map display
     private MapMarkerDto convertToMapMarkerDto(Location location) {
         MapMarkerDto dto = new MapMarkerDto();
@@ -131,7 +139,7 @@ public class LocationService {
         dto.setIsActive(location.getBranch().getIsActive());
         
         // Create popup content for tooltip
-        dto.setPopupContent(createPopupContent(location));
+        dto.setPopupContent(createPopupContent(dto));
         
         return dto;
     }
@@ -155,8 +163,8 @@ public class LocationService {
         return dto;
     }
 
-    // Create HTML popup content for map tooltip
-    private String createPopupContent(Location location) {
+    // Create HTML popup content for map tooltip (also used by the reactive read API)
+    public static String createPopupContent(MapMarkerDto marker) {
         return String.format(
             "<div class='map-tooltip'>" +
             "<h3>%s</h3>" +
@@ -164,10 +172,10 @@ public class LocationService {
             "<p><strong>Phone:</strong> %s</p>" +
             "<p><strong>Hours:</strong> %s</p>" +
             "</div>",
-            location.getBranch().getName(),
-            location.getAddress(),
-            location.getBranch().getPhone() != null ? location.getBranch().getPhone() : "N/A",
-            location.getBranch().getOpeningHours() != null ? location.getBranch().getOpeningHours() : "N/A"
+            marker.getBranchName(),
+            marker.getAddress(),
+            marker.getPhone() != null ? marker.getPhone() : "N/A",
+            marker.getOpeningHours() != null ? marker.getOpeningHours() : "N/A"
         );
     }
 }
@@ -0,0 +1,203 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.dto.MenuBundleDto;
+import com.cheko.backend.event.CatalogChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+
+// Materializes the full menu as a gzip-compressed JSON file whenever the catalog changes, so
+// /api/menu/bundle is served straight from disk with no per-request queries or serialization.
+// Rebuilds are debounced; the ETag is derived from the compressed bytes, so every node producing
+// the same menu produces the same ETag. Each instance writes to its own subdirectory (node id) and only
+// ever deletes files it wrote, a while after they were replaced, since responses may still be sending them.
+@Service
+public class MenuBundleService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuBundleService.class);
+
+    private static final String FILE_PREFIX = "menu-bundle-";
+    private static final String FILE_SUFFIX = ".json.gz";
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CalorieAnalysisService calorieAnalysisService;
+
+    @Autowired
+    private MenuSyncService menuSyncService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    @Value("${cheko.bundle.dir:${java.io.tmpdir}/cheko-bundle}")
+    private String bundleDir;
+
+    @Value("${cheko.bundle.debounce-ms:2000}")
+    private long debounceMs;
+
+    @Value("${cheko.bundle.retain-ms:60000}")
+    private long retainMs;
+
+    private final ScheduledExecutorService builder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "menu-bundle-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private volatile MenuBundle current;
+
+    public Optional<MenuBundle> current() {
+        return Optional.ofNullable(current);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        // Files left by an earlier run with the same node id are ours; nothing can be sending them now
+        builder.execute(() -> deleteBundles(path -> true));
+        scheduleRebuild(0);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (CatalogChangedEvent.ITEMS.equals(event.getEntityType())
+                || CatalogChangedEvent.CATEGORIES.equals(event.getEntityType())) {
+            scheduleRebuild(debounceMs);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        builder.shutdownNow();
+        current = null;
+        deleteBundles(path -> true);
+        try {
+            Files.deleteIfExists(directory());
+        } catch (IOException e) {
+            log.debug("Could not remove bundle directory: {}", e.getMessage());
+        }
+    }
+
+    // One pending rebuild at a time; changes arriving while it waits are folded into it
+    private void scheduleRebuild(long delayMs) {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            builder.schedule(this::rebuild, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        rebuildScheduled.set(false); // changes from here on need another build
+        try {
+            build();
+        } catch (Exception e) {
+            log.error("Menu bundle build failed, retrying shortly", e);
+            scheduleRebuild(Math.max(debounceMs, 10000));
+        }
+    }
+
+    private void build() throws IOException {
+        MenuBundleDto bundle = new MenuBundleDto();
+        bundle.setVersion(menuSyncService.currentVersion()); // read first: the data below is at least this new
+        bundle.setCategories(categoryService.getAllCategories());
+        bundle.setItems(itemService.getAllItemsList());
+        bundle.setBestSellers(itemService.getBestSellerItems());
+        bundle.setSecondHighestCalorie(new TreeMap<>(calorieAnalysisService.getSecondHighestCaloriePerCategory()));
+
+        Path dir = directory();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, FILE_PREFIX, ".tmp");
+        MessageDigest digest = sha256();
+        try (OutputStream out = new GZIPOutputStream(new DigestOutputStream(Files.newOutputStream(temp), digest))) {
+            objectMapper.writeValue(out, bundle);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        String hash = HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        String etag = "\"" + bundle.getVersion() + "-" + hash + "\"";
+
+        MenuBundle existing = current;
+        if (existing != null && existing.etag().equals(etag)) {
+            Files.deleteIfExists(temp);
+            return;
+        }
+
+        Path target = dir.resolve(FILE_PREFIX + bundle.getVersion() + "-" + hash + FILE_SUFFIX);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        current = new MenuBundle(target, bundle.getVersion(), etag, Files.size(target),
+                Files.getLastModifiedTime(target).toMillis());
+        log.info("Built menu bundle {} ({} bytes)", target.getFileName(), current.length());
+        if (existing != null && !existing.path().equals(target)) {
+            // A response may have been handed the old path (e.g. for sendfile) but not opened it yet
+            builder.schedule(() -> deleteBundles(path -> path.equals(existing.path())), retainMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Deletes this instance's bundle files matching the filter, never the current one
+    private void deleteBundles(Predicate<Path> filter) {
+        Path dir = directory();
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        MenuBundle latest = current;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, FILE_PREFIX + "*")) {
+            for (Path file : files) {
+                if ((latest == null || !latest.path().equals(file)) && filter.test(file)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete old menu bundles in {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private Path directory() {
+        return Paths.get(bundleDir, nodeIdentity.getId());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // A built bundle file; content is gzip-compressed JSON
+    public record MenuBundle(Path path, long version, String etag, long length, long lastModified) {}
+}
@@ -0,0 +1,259 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.dto.ItemDto;
+import com.cheko.backend.dto.MenuChangeDto;
+import com.cheko.backend.event.CatalogChangedEvent;
+import com.cheko.backend.util.ThreadFactories;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Fans out item availability / best-seller changes to Server-Sent Events clients (/api/menu/stream).
+// A single publisher thread builds each event once; every client has a bounded buffer drained by a
+// small sender pool, and a client whose buffer overflows is disconnected instead of slowing the others.
+// Socket writes block, so each one runs on a writer thread with a deadline: a stalled client is evicted
+// when its write times out and holds one writer thread, never a sender.
+@Service
+public class MenuStreamService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuStreamService.class);
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private MenuSyncService menuSyncService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService publisher;
+    private final ExecutorService senders;
+    private final ExecutorService writers;
+    private final int maxClients;
+    private final int bufferSize;
+    private final long clientTimeoutMs;
+    private final long writeTimeoutMs;
+    private final Counter evictions;
+
+    public MenuStreamService(MeterRegistry meterRegistry,
+                             @Value("${cheko.stream.max-clients:10000}") int maxClients,
+                             @Value("${cheko.stream.buffer-size:32}") int bufferSize,
+                             @Value("${cheko.stream.client-timeout-ms:1800000}") long clientTimeoutMs,
+                             @Value("${cheko.stream.sender-threads:4}") int senderThreads,
+                             @Value("${cheko.stream.write-timeout-ms:5000}") long writeTimeoutMs,
+                             @Value("${cheko.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.maxClients = maxClients;
+        this.bufferSize = bufferSize;
+        this.clientTimeoutMs = clientTimeoutMs;
+        this.writeTimeoutMs = writeTimeoutMs;
+        this.publisher = Executors.newSingleThreadExecutor(ThreadFactories.named("menu-stream-publisher", virtualThreads));
+        this.senders = Executors.newFixedThreadPool(senderThreads, ThreadFactories.named("menu-stream-sender", virtualThreads));
+        // Unbounded, but a client has at most one write in flight and is evicted once it stalls
+        this.writers = Executors.newCachedThreadPool(ThreadFactories.named("menu-stream-writer", virtualThreads));
+        this.evictions = meterRegistry.counter("cheko.stream.evictions");
+        meterRegistry.gaugeCollectionSize("cheko.stream.clients", Tags.empty(), clients);
+    }
+
+    public SseEmitter subscribe() {
+        if (clients.size() >= maxClients) {
+            throw new StreamCapacityException("Too many menu stream clients");
+        }
+
+        SseEmitter emitter = new SseEmitter(clientTimeoutMs);
+        Client client = new Client(emitter, bufferSize);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(error -> clients.remove(client));
+        clients.add(client);
+
+        // Tells the client which sync version its stream starts from, usable as /changes?since= after a reconnect
+        enqueue(client, SseEmitter.event()
+                .name("ready")
+                .data("{\"version\":" + menuSyncService.currentVersion() + "}", MediaType.APPLICATION_JSON)
+                .build());
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!CatalogChangedEvent.ITEMS.equals(event.getEntityType()) || clients.isEmpty()) {
+            return;
+        }
+        publisher.execute(() -> broadcast(event));
+    }
+
+    // Keeps idle connections open through proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${cheko.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        if (!clients.isEmpty()) {
+            Set<DataWithMediaType> frame = SseEmitter.event().comment("keepalive").build();
+            clients.forEach(client -> enqueue(client, frame));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        publisher.shutdownNow();
+        senders.shutdownNow();
+        writers.shutdownNow();
+        clients.forEach(client -> client.emitter.complete());
+    }
+
+    private void broadcast(CatalogChangedEvent event) {
+        // Outbox-based and shared by all nodes, so the event id works as a resume point anywhere
+        long version = menuSyncService.currentVersion();
+        MenuChangeDto change;
+        String name;
+        if (event.getEntityId() == null && !event.getEntityIds().isEmpty()) {
+            // Bulk update listing its rows: one event with the ids, clients fetch them via /changes
+            change = new MenuChangeDto(version, event.getChangeType(), null);
+            change.setIds(event.getEntityIds());
+            name = "items";
+        } else if (event.getEntityId() == null) {
+            // Bulk item change (e.g. many rows edited directly in the database): resend the best-seller set
+            change = new MenuChangeDto(version, "BEST_SELLERS", null);
+            change.setBestSellerIds(itemService.getBestSellerItems().stream()
+                    .map(ItemDto::getId)
+                    .collect(Collectors.toList()));
+            name = "best-sellers";
+        } else {
+            MenuChangeDto itemChange = new MenuChangeDto(version, event.getChangeType(), event.getEntityId());
+            itemService.getItemById(event.getEntityId()).ifPresentOrElse(item -> {
+                itemChange.setIsAvailable(item.getIsAvailable());
+                itemChange.setIsBestSeller(item.getIsBestSeller());
+            }, () -> itemChange.setChange(CatalogChangedEvent.DELETED));
+            change = itemChange;
+            name = "item";
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            log.error("Could not encode menu change {}", event, e);
+            return;
+        }
+        Set<DataWithMediaType> frame = SseEmitter.event()
+                .id(String.valueOf(version))
+                .name(name)
+                .data(json, MediaType.APPLICATION_JSON)
+                .build();
+        clients.forEach(client -> enqueue(client, frame));
+    }
+
+    private void enqueue(Client client, Set<DataWithMediaType> frame) {
+        if (!client.queue.offer(frame)) {
+            evict(client);
+            return;
+        }
+        if (client.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(client));
+        }
+    }
+
+    private void drain(Client client) {
+        try {
+            Set<DataWithMediaType> frame;
+            while ((frame = client.queue.poll()) != null) {
+                if (!write(client, frame)) {
+                    return;
+                }
+            }
+        } finally {
+            client.draining.set(false);
+        }
+        // A frame may have been queued after the last poll but before draining was reset
+        if (!client.queue.isEmpty() && client.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(client));
+        }
+    }
+
+    // Sends one frame within write-timeout-ms; false if the client is gone or was evicted
+    private boolean write(Client client, Set<DataWithMediaType> frame) {
+        Future<?> write;
+        try {
+            write = writers.submit(() -> {
+                client.emitter.send(frame);
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            return false; // shutting down
+        }
+        try {
+            write.get(writeTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            write.cancel(true);
+            evict(client);
+            return false;
+        } catch (ExecutionException e) {
+            clients.remove(client); // disconnected or already completed
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Completing waits for a write in progress (the emitter is synchronized), so it runs on a writer thread
+    private void evict(Client client) {
+        if (clients.remove(client)) {
+            evictions.increment();
+            log.debug("Disconnecting slow menu stream client");
+            try {
+                writers.execute(client.emitter::complete);
+            } catch (RejectedExecutionException e) {
+                // shutting down: destroy() completes the remaining clients
+            }
+        }
+    }
+
+    private static final class Client {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Client(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public static class StreamCapacityException extends RuntimeException {
+        public StreamCapacityException(String message) {
+            super(message);
+        }
+    }
+}
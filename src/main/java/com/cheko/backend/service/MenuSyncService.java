@@ -0,0 +1,126 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.dto.CategoryDto;
+import com.cheko.backend.dto.ItemDto;
+import com.cheko.backend.dto.MenuChangesDto;
+import com.cheko.backend.event.CatalogChangedEvent;
+import com.cheko.backend.model.CatalogOutboxEvent;
+import com.cheko.backend.repository.CatalogOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Delta sync for menu clients. A client's version is a catalog_outbox id: the changes since it are the
+// outbox rows after it, resolved to current item/category rows (missing rows were soft-deleted).
+@Service
+public class MenuSyncService {
+
+    @Autowired
+    private CatalogOutboxRepository outboxRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Value("${cheko.sync.settle-ms:10000}")
+    private long settleMs;
+
+    @Value("${cheko.sync.max-changes:500}")
+    private int maxChanges;
+
+    // Changes since the given version, or a full snapshot when there is no usable version:
+    // none given, older than the retained outbox, unknown, or too far behind to be worth a delta
+    @Transactional(readOnly = true)
+    public MenuChangesDto getChangesSince(Long since) {
+        long lastAssigned = outboxRepository.findLastAssignedId();
+        long floor = floor(lastAssigned);
+        long settled = settledVersion(floor);
+
+        if (since == null || since < floor || since > lastAssigned) {
+            return fullSnapshot(settled);
+        }
+
+        List<CatalogOutboxEvent> changes = outboxRepository.findBatchAfter(since, PageRequest.of(0, maxChanges + 1));
+        if (changes.size() > maxChanges) {
+            return fullSnapshot(settled);
+        }
+
+        Set<Long> itemIds = new LinkedHashSet<>();
+        Set<Long> categoryIds = new LinkedHashSet<>();
+        for (CatalogOutboxEvent change : changes) {
+            boolean items = CatalogChangedEvent.ITEMS.equals(change.getEntityType());
+            boolean categories = CatalogChangedEvent.CATEGORIES.equals(change.getEntityType());
+            if (items && change.getEntityId() == null && !change.getEntityIds().isEmpty()) {
+                itemIds.addAll(change.getEntityIds()); // bulk change listing its rows
+                continue;
+            }
+            if ((items || categories) && change.getEntityId() == null) {
+                return fullSnapshot(settled); // bulk change: affected rows are unknown
+            }
+            if (items) {
+                itemIds.add(change.getEntityId());
+            } else if (categories) {
+                categoryIds.add(change.getEntityId());
+            }
+        }
+
+        MenuChangesDto delta = new MenuChangesDto();
+        delta.setVersion(Math.max(since, settled));
+        delta.setFullSnapshot(false);
+        List<ItemDto> items = itemIds.isEmpty() ? new ArrayList<>() : itemService.getItemsByIds(itemIds);
+        List<CategoryDto> categories = categoryIds.isEmpty() ? new ArrayList<>() : categoryService.getCategoriesByIds(categoryIds);
+        delta.setItems(items);
+        delta.setCategories(categories);
+        delta.setDeletedItemIds(missing(itemIds, items.stream().map(ItemDto::getId).collect(Collectors.toSet())));
+        delta.setDeletedCategoryIds(missing(categoryIds, categories.stream().map(CategoryDto::getId).collect(Collectors.toSet())));
+        return delta;
+    }
+
+    // Version to hand out for data read from now on
+    @Transactional(readOnly = true)
+    public long currentVersion() {
+        return settledVersion(floor(outboxRepository.findLastAssignedId()));
+    }
+
+    // Changes after the floor are all still in the outbox
+    private long floor(long lastAssigned) {
+        long minId = outboxRepository.findMinId();
+        return minId > 0 ? minId - 1 : lastAssigned;
+    }
+
+    // Versions handed out are settled: rows created within the settle window may belong to transactions
+    // that committed out of id order, so they are resent on the next sync rather than skipped
+    private long settledVersion(long floor) {
+        return Math.max(floor,
+                outboxRepository.findMaxIdCreatedBefore(LocalDateTime.now().minus(Duration.ofMillis(settleMs))));
+    }
+
+    private MenuChangesDto fullSnapshot(long version) {
+        MenuChangesDto snapshot = new MenuChangesDto();
+        snapshot.setVersion(version);
+        snapshot.setFullSnapshot(true);
+        snapshot.setItems(itemService.getAllItemsList());
+        snapshot.setCategories(categoryService.getAllCategories());
+        snapshot.setDeletedItemIds(List.of());
+        snapshot.setDeletedCategoryIds(List.of());
+        return snapshot;
+    }
+
+    private static List<Long> missing(Set<Long> changedIds, Set<Long> foundIds) {
+        return changedIds.stream()
+                .filter(id -> !foundIds.contains(id))
+                .collect(Collectors.toList());
+    }
+}
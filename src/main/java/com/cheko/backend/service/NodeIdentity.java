@@ -0,0 +1,21 @@
+package com.cheko.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// Identifies this backend instance in cross-node messages and outbox rows
+@Component
+public class NodeIdentity {
+
+    private final String id;
+
+    public NodeIdentity(@Value("${NODE_ID:}") String configuredId) {
+        this.id = configuredId.isBlank() ? UUID.randomUUID().toString() : configuredId;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,188 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.event.CatalogChangedEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// LISTENs on the catalog_changes channel fed by the notify_catalog_change() triggers (V4 migration)
+// and replays changes made by other nodes or by direct SQL as remote CatalogChangedEvents.
+// Uses its own connection outside the pool, since a listening session must stay open.
+@Component
+@ConditionalOnProperty(name = "cheko.cache.pg-notify.enabled", havingValue = "true")
+public class PgNotifyInvalidationListener implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PgNotifyInvalidationListener.class);
+
+    static final String CHANNEL = "catalog_changes";
+
+    private static final List<String> TABLES = List.of(CatalogChangedEvent.ITEMS, CatalogChangedEvent.CATEGORIES,
+            CatalogChangedEvent.BRANCHES, CatalogChangedEvent.LOCATIONS);
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    @Autowired(required = false)
+    private SharedCacheTier sharedCacheTier;
+
+    // Pool sessions carry this as application_name (defaults to the node id, see DataSourceConfig)
+    @Value("${spring.datasource.hikari.data-source-properties.ApplicationName:}")
+    private String configuredApplicationName;
+
+    private String ownApplicationName;
+
+    @Value("${cheko.cache.pg-notify.poll-timeout-ms:1000}")
+    private int pollTimeoutMs;
+
+    @Value("${cheko.cache.pg-notify.bulk-threshold:50}")
+    private int bulkThreshold;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ownApplicationName = configuredApplicationName.isBlank() ? nodeIdentity.getId() : configuredApplicationName;
+        running = true;
+        thread = new Thread(this::listen, "catalog-notify-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        long backoffMs = 1000;
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    // Notifications sent while disconnected are lost; treat everything as changed
+                    log.info("Reconnected to {}, invalidating all catalog caches", CHANNEL);
+                    Long version = nextSharedVersion();
+                    TABLES.forEach(table -> publish(table, null, CatalogChangedEvent.UPDATED, version));
+                }
+                backoffMs = 1000;
+                reconnecting = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null && notifications.length > 0) {
+                        dispatch(notifications);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Catalog change listener disconnected: {}; retrying in {} ms", e.getMessage(), backoffMs);
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, 30000);
+                reconnecting = true;
+            }
+        }
+    }
+
+    // Replays one poll's worth of notifications; a table touched by many rows (e.g. the
+    // best-seller recalculation) collapses into a single bulk invalidation
+    private void dispatch(PGNotification[] notifications) {
+        Map<String, Map<Long, String>> changesByTable = new LinkedHashMap<>();
+        for (PGNotification notification : notifications) {
+            String[] parts = notification.getParameter().split(":", 4);
+            if (parts.length < 3 || !TABLES.contains(parts[0])) {
+                log.debug("Ignoring notification {}", notification.getParameter());
+                continue;
+            }
+            if (parts.length == 4 && ownApplicationName.equals(parts[3])) {
+                continue; // written through this node, which already published the change
+            }
+            try {
+                changesByTable.computeIfAbsent(parts[0], t -> new LinkedHashMap<>())
+                        .put(Long.valueOf(parts[1]), changeType(parts[2]));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring notification {}", notification.getParameter());
+            }
+        }
+
+        if (changesByTable.isEmpty()) {
+            return;
+        }
+        // Nothing else bumps the cluster-wide version for direct SQL edits: do it once for this batch,
+        // so every node moves its cache keys to the same version
+        Long version = nextSharedVersion();
+        changesByTable.forEach((table, changes) -> {
+            if (changes.size() > bulkThreshold) {
+                publish(table, null, CatalogChangedEvent.UPDATED, version);
+            } else {
+                changes.forEach((id, changeType) -> publish(table, id, changeType, version));
+            }
+        });
+    }
+
+    // New shared catalog version, or null without a shared tier (each node then bumps its own counter)
+    private Long nextSharedVersion() {
+        if (sharedCacheTier == null) {
+            return null;
+        }
+        return sharedCacheTier.incrementCatalogVersion().orElse(null);
+    }
+
+    private void publish(String table, Long id, String changeType, Long version) {
+        try {
+            eventPublisher.publishEvent(CatalogChangedEvent.remote(table, id, changeType, version));
+        } catch (RuntimeException e) {
+            log.error("Failed to apply catalog change {}:{}", table, id, e);
+        }
+    }
+
+    private static String changeType(String operation) {
+        switch (operation) {
+            case "INSERT":
+                return CatalogChangedEvent.CREATED;
+            case "DELETE":
+                return CatalogChangedEvent.DELETED;
+            default:
+                return CatalogChangedEvent.UPDATED;
+        }
+    }
+}
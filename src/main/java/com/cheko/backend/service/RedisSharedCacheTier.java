@@ -0,0 +1,88 @@
+package com.cheko.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Shared tier on a Redis-protocol server (cheko.cache.shared.mode=redis).
+// Any Redis-compatible server works; only GET/SET EX/INCR/PUBLISH/SUBSCRIBE are used.
+@Component
+@ConditionalOnProperty(name = "cheko.cache.shared.mode", havingValue = "redis")
+public class RedisSharedCacheTier implements SharedCacheTier {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisSharedCacheTier.class);
+
+    static final String CATALOG_VERSION_KEY = "cheko:catalog:version";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Override
+    public Optional<String> get(String key) {
+        try {
+            return Optional.ofNullable(redisTemplate.opsForValue().get(key));
+        } catch (RuntimeException e) {
+            log.debug("Shared cache get failed for {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(key, value, ttl);
+        } catch (RuntimeException e) {
+            log.debug("Shared cache put failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public long catalogVersion() {
+        try {
+            String version = redisTemplate.opsForValue().get(CATALOG_VERSION_KEY);
+            return version != null ? Long.parseLong(version) : 0L;
+        } catch (RuntimeException e) {
+            log.warn("Could not read shared catalog version: {}", e.getMessage());
+            return 0L;
+        }
+    }
+
+    @Override
+    public Optional<Long> incrementCatalogVersion() {
+        try {
+            return Optional.ofNullable(redisTemplate.opsForValue().increment(CATALOG_VERSION_KEY));
+        } catch (RuntimeException e) {
+            log.warn("Could not bump shared catalog version: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            log.warn("Could not publish to {}: {}", channel, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+}
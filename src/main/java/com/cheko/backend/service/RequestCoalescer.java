@@ -0,0 +1,79 @@
+package com.cheko.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Single-flight: concurrent identical loads share one in-flight computation.
+// The first caller runs the loader; callers arriving meanwhile wait (bounded) for its result or failure.
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMs;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${cheko.coalescing.timeout-ms:10000}") long timeoutMs) {
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public <T> T execute(String operation, Supplier<T> loader) {
+        return execute(operation, operation, loader);
+    }
+
+    // operation names the call for metrics; key identifies identical calls (operation plus arguments)
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+
+        if (existing == null) {
+            counter("cheko.coalescing.leaders", operation).increment();
+            try {
+                T value = loader.get();
+                created.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                created.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, created);
+            }
+        }
+
+        counter("cheko.coalescing.collapsed", operation).increment();
+        try {
+            return (T) existing.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            counter("cheko.coalescing.timeouts", operation).increment();
+            throw new RuntimeException("Timed out after " + timeoutMs + " ms waiting for in-flight " + operation);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for in-flight " + operation, e);
+        }
+    }
+
+    private Counter counter(String name, String operation) {
+        return meterRegistry.counter(name, "operation", operation);
+    }
+}
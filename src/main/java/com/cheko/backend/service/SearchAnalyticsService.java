@@ -0,0 +1,89 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.dto.SearchAnalyticsDto;
+import com.cheko.backend.util.CountMinSketch;
+import com.cheko.backend.util.SpaceSaving;
+import com.cheko.backend.util.TextAnalyzer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Tracks what customers search for in fixed memory: a Count-Min sketch for frequency
+// estimates plus Space-Saving trackers for the heaviest queries and zero-result queries
+@Service
+public class SearchAnalyticsService {
+
+    public static final String SCOPE_ITEMS = "items";
+    public static final String SCOPE_MARKERS = "markers";
+
+    private final CountMinSketch sketch;
+    private final SpaceSaving heavyHitters;
+    private final SpaceSaving zeroResultHitters;
+    private final AtomicLong totalQueries = new AtomicLong();
+    private final AtomicLong zeroResultQueries = new AtomicLong();
+
+    public SearchAnalyticsService(@Value("${cheko.search.analytics.sketch-depth:5}") int sketchDepth,
+                                  @Value("${cheko.search.analytics.sketch-width:2048}") int sketchWidth,
+                                  @Value("${cheko.search.analytics.tracked-queries:500}") int trackedQueries) {
+        this.sketch = new CountMinSketch(sketchDepth, sketchWidth);
+        this.heavyHitters = new SpaceSaving(trackedQueries);
+        this.zeroResultHitters = new SpaceSaving(trackedQueries);
+    }
+
+    // Record one search; blank queries (browse requests) are ignored
+    public void record(String scope, String query, long resultCount) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        String key = scope + ":" + normalized;
+        sketch.add(key);
+        heavyHitters.offer(key);
+        totalQueries.incrementAndGet();
+        if (resultCount == 0) {
+            zeroResultHitters.offer(key);
+            zeroResultQueries.incrementAndGet();
+        }
+    }
+
+    // Most frequent queries for a scope, as normalized query strings
+    public List<String> topQueries(String scope, int n) {
+        String prefix = scope + ":";
+        return heavyHitters.top(Integer.MAX_VALUE).stream()
+                .map(SpaceSaving.Counter::getKey)
+                .filter(key -> key.startsWith(prefix))
+                .limit(n)
+                .map(key -> key.substring(prefix.length()))
+                .collect(Collectors.toList());
+    }
+
+    public SearchAnalyticsDto getReport(int n) {
+        SearchAnalyticsDto report = new SearchAnalyticsDto();
+        report.setTotalQueries(totalQueries.get());
+        report.setZeroResultQueries(zeroResultQueries.get());
+        report.setTopQueries(toStats(heavyHitters.top(n)));
+        report.setTopZeroResultQueries(toStats(zeroResultHitters.top(n)));
+        return report;
+    }
+
+    // Same normalization for recording and for cache lookups: analyzer-normalized, single spaced
+    public static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        return String.join(" ", TextAnalyzer.tokenize(TextAnalyzer.normalize(query)));
+    }
+
+    private List<SearchAnalyticsDto.QueryStat> toStats(List<SpaceSaving.Counter> counters) {
+        return counters.stream()
+                .map(counter -> {
+                    String[] parts = counter.getKey().split(":", 2);
+                    return new SearchAnalyticsDto.QueryStat(parts[0], parts[1], counter.getCount(),
+                            counter.getError(), sketch.estimate(counter.getKey()));
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,320 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.dto.ItemDto;
+import com.cheko.backend.dto.MapMarkerDto;
+import com.cheko.backend.event.CatalogChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Bounded cache of parameterized search/filter results.
+// Results are stored as id lists (weighted by length, admitted by Caffeine's W-TinyLFU policy);
+// DTOs live once per id in separate caches, so popular rows are not duplicated across queries.
+// When a shared cache tier is configured, local misses are looked up there (as JSON pages keyed by
+// the cluster-wide catalog version) before querying the database, so a cold node starts warm.
+// Whole-catalog reads (categories, best sellers, all markers) are cached the same way as snapshots.
+@Component
+public class SearchResultCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchResultCache.class);
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired(required = false)
+    private SharedCacheTier sharedCacheTier;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Cache<SearchKey, CachedIds> results;
+    private final Cache<Long, ItemDto> items;
+    private final Cache<Long, MapMarkerDto> markers;
+    private final Cache<SearchKey, List<?>> snapshots;
+    private final Duration sharedTtl;
+
+    public SearchResultCache(@Value("${cheko.cache.search.max-weight:200000}") long maxWeight,
+                             @Value("${cheko.cache.search.max-rows:20000}") long maxRows,
+                             @Value("${cheko.cache.search.row-ttl-seconds:300}") long rowTtlSeconds,
+                             @Value("${cheko.cache.shared.ttl-seconds:600}") long sharedTtlSeconds) {
+        this.sharedTtl = Duration.ofSeconds(sharedTtlSeconds);
+        this.results = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((SearchKey key, CachedIds value) -> value.ids().size() + 1)
+                .recordStats()
+                .build();
+        // Rows also expire: changes that never reach the outbox (direct SQL while pg-notify is off or this node
+        // was down, order counts) would otherwise be served forever, e.g. after restoring a snapshot
+        this.items = Caffeine.newBuilder().maximumSize(maxRows)
+                .expireAfterWrite(Duration.ofSeconds(rowTtlSeconds)).recordStats().build();
+        this.markers = Caffeine.newBuilder().maximumSize(maxRows)
+                .expireAfterWrite(Duration.ofSeconds(rowTtlSeconds)).recordStats().build();
+        this.snapshots = Caffeine.newBuilder().maximumSize(64)
+                .expireAfterWrite(Duration.ofSeconds(rowTtlSeconds)).recordStats().build();
+    }
+
+    // Key for a search: scope, query, filters, page and sort, stamped with the catalog version. The query is only
+    // trimmed and lowercased, matching what the loaders send to their case-insensitive LIKEs; a coarser form
+    // (e.g. the analytics normalization) would let different queries share a cached result.
+    public SearchKey key(String scope, String query, Pageable pageable, Object... filters) {
+        String page = pageable == null || pageable.isUnpaged()
+                ? "unpaged"
+                : pageable.getPageNumber() + "/" + pageable.getPageSize() + "/" + pageable.getSort();
+        return new SearchKey(scope, query == null ? "" : query.trim().toLowerCase(Locale.ROOT),
+                Arrays.asList(filters).toString(), page, catalogVersionService.current());
+    }
+
+    public Page<ItemDto> items(SearchKey key, Pageable pageable, Supplier<Page<ItemDto>> loader) {
+        CachedIds cached = results.getIfPresent(key);
+        if (cached != null) {
+            List<ItemDto> content = hydrate(cached.ids(), items);
+            if (content != null) {
+                return new PageImpl<>(content, pageable, cached.total());
+            }
+        }
+
+        // Concurrent misses for the same key (e.g. right after an invalidation) run the query once
+        return requestCoalescer.execute("search." + key.scope(), key, () -> {
+            Page<ItemDto> page = fromSharedTier(key, ItemDto.class)
+                    .<Page<ItemDto>>map(shared -> new PageImpl<>(shared.rows(), pageable, shared.total()))
+                    .orElseGet(() -> {
+                        Page<ItemDto> loaded = loader.get();
+                        if (isCurrent(key)) {
+                            toSharedTier(key, new SharedRows<>(loaded.getContent(), loaded.getTotalElements()));
+                        }
+                        return loaded;
+                    });
+            if (isCurrent(key)) {
+                List<Long> ids = ids(page.getContent(), ItemDto::getId);
+                page.getContent().forEach(dto -> items.put(dto.getId(), dto));
+                results.put(key, new CachedIds(ids, page.getTotalElements()));
+                if (!isCurrent(key)) {
+                    items.invalidateAll(ids); // the change landed between the check and the puts
+                }
+            }
+            return page;
+        });
+    }
+
+    public List<MapMarkerDto> markers(SearchKey key, Supplier<List<MapMarkerDto>> loader) {
+        CachedIds cached = results.getIfPresent(key);
+        if (cached != null) {
+            List<MapMarkerDto> content = hydrate(cached.ids(), markers);
+            if (content != null) {
+                return content;
+            }
+        }
+
+        return requestCoalescer.execute("search." + key.scope(), key, () -> {
+            List<MapMarkerDto> list = fromSharedTier(key, MapMarkerDto.class)
+                    .map(SharedRows::rows)
+                    .orElseGet(() -> {
+                        List<MapMarkerDto> loaded = loader.get();
+                        if (isCurrent(key)) {
+                            toSharedTier(key, new SharedRows<>(loaded, loaded.size()));
+                        }
+                        return loaded;
+                    });
+            if (isCurrent(key)) {
+                List<Long> ids = ids(list, MapMarkerDto::getId);
+                list.forEach(dto -> markers.put(dto.getId(), dto));
+                results.put(key, new CachedIds(ids, list.size()));
+                if (!isCurrent(key)) {
+                    markers.invalidateAll(ids); // the change landed between the check and the puts
+                }
+            }
+            return list;
+        });
+    }
+
+    // A whole-catalog list (e.g. all categories): kept in memory and in the shared tier under the catalog version
+    @SuppressWarnings("unchecked")
+    public <T> List<T> snapshot(SearchKey key, Class<T> rowType, Supplier<List<T>> loader) {
+        List<?> cached = snapshots.getIfPresent(key);
+        if (cached != null) {
+            return (List<T>) cached;
+        }
+
+        return requestCoalescer.execute("snapshot." + key.scope(), key, () -> {
+            List<T> list = fromSharedTier(key, rowType)
+                    .map(SharedRows::rows)
+                    .orElseGet(() -> {
+                        List<T> loaded = loader.get();
+                        if (isCurrent(key)) {
+                            toSharedTier(key, new SharedRows<>(loaded, loaded.size()));
+                        }
+                        return loaded;
+                    });
+            if (isCurrent(key)) {
+                snapshots.put(key, List.copyOf(list));
+                if (!isCurrent(key)) {
+                    snapshots.invalidate(key);
+                }
+            }
+            return list;
+        });
+    }
+
+    // Cached rows and the results of the current catalog version, for CatalogSnapshotService
+    public List<ItemDto> cachedItems() {
+        return new ArrayList<>(items.asMap().values());
+    }
+
+    public List<MapMarkerDto> cachedMarkers() {
+        return new ArrayList<>(markers.asMap().values());
+    }
+
+    public List<StoredResult> cachedResults() {
+        long version = catalogVersionService.current();
+        List<StoredResult> stored = new ArrayList<>();
+        results.asMap().forEach((key, cached) -> {
+            if (key.catalogVersion() == version) {
+                stored.add(new StoredResult(key.scope(), key.query(), key.filters(), key.page(),
+                        cached.ids(), cached.total()));
+            }
+        });
+        return stored;
+    }
+
+    public void restoreItems(Collection<ItemDto> rows) {
+        rows.forEach(dto -> items.put(dto.getId(), dto));
+    }
+
+    public void restoreMarkers(Collection<MapMarkerDto> rows) {
+        rows.forEach(dto -> markers.put(dto.getId(), dto));
+    }
+
+    // Re-keyed under the current catalog version: only valid if nothing changed since they were stored
+    public void restoreResults(Collection<StoredResult> stored) {
+        long version = catalogVersionService.current();
+        stored.forEach(result -> results.put(
+                new SearchKey(result.scope(), result.query(), result.filters(), result.page(), version),
+                new CachedIds(List.copyOf(result.ids()), result.total())));
+    }
+
+    // Hit/miss statistics per cache
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("searchResults", results.stats());
+        stats.put("items", items.stats());
+        stats.put("markers", markers.stats());
+        stats.put("snapshots", snapshots.stats());
+        return stats;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // Entries under the old catalog version are already unreachable; drop them to free memory
+        results.invalidateAll();
+        snapshots.invalidateAll();
+        switch (event.getEntityType()) {
+            case CatalogChangedEvent.ITEMS:
+                if (event.getEntityId() != null) {
+                    items.invalidate(event.getEntityId());
+                } else if (!event.getEntityIds().isEmpty()) {
+                    items.invalidateAll(event.getEntityIds());
+                } else {
+                    items.invalidateAll();
+                }
+                break;
+            case CatalogChangedEvent.CATEGORIES:
+                items.invalidateAll(); // category names are embedded in item DTOs
+                break;
+            default:
+                markers.invalidateAll(); // markers combine branch and location columns
+        }
+    }
+
+    // A change committed while the rows were loading may already have invalidated them: caching them then
+    // would put the pre-change rows back. The version is bumped before invalidation, so checking it before
+    // and again after the puts leaves no window where a stale row survives the invalidation.
+    private boolean isCurrent(SearchKey key) {
+        return catalogVersionService.current() == key.catalogVersion();
+    }
+
+    private <T> Optional<SharedRows<T>> fromSharedTier(SearchKey key, Class<T> rowType) {
+        if (sharedCacheTier == null) {
+            return Optional.empty();
+        }
+        JavaType type = objectMapper.getTypeFactory().constructParametricType(SharedRows.class, rowType);
+        return sharedCacheTier.get(key.sharedKey()).flatMap(json -> {
+            try {
+                return Optional.of(objectMapper.<SharedRows<T>>readValue(json, type));
+            } catch (JsonProcessingException e) {
+                log.warn("Discarding unreadable shared cache entry {}: {}", key.sharedKey(), e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    private void toSharedTier(SearchKey key, SharedRows<?> rows) {
+        if (sharedCacheTier == null) {
+            return;
+        }
+        try {
+            sharedCacheTier.put(key.sharedKey(), objectMapper.writeValueAsString(rows), sharedTtl);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not encode shared cache entry {}: {}", key.sharedKey(), e.getMessage());
+        }
+    }
+
+    // All DTOs for the ids, in order, or null if any of them has been evicted
+    private static <T> List<T> hydrate(List<Long> ids, Cache<Long, T> rows) {
+        Map<Long, T> found = rows.getAllPresent(ids);
+        if (found.size() != new HashSet<>(ids).size()) {
+            return null;
+        }
+        List<T> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            content.add(found.get(id));
+        }
+        return content;
+    }
+
+    private static <T> List<Long> ids(List<T> rows, Function<T, Long> idOf) {
+        return rows.stream().map(idOf).collect(Collectors.toUnmodifiableList());
+    }
+
+    public record SearchKey(String scope, String query, String filters, String page, long catalogVersion) {
+
+        // Key in the shared tier; the version prefix makes entries from older catalogs unreachable
+        String sharedKey() {
+            return "cheko:search:v" + catalogVersion + ":" + scope + ":" + page + ":" + filters + ":" + query;
+        }
+    }
+
+    private record CachedIds(List<Long> ids, long total) {}
+
+    public record StoredResult(String scope, String query, String filters, String page, List<Long> ids, long total) {}
+
+    record SharedRows<T>(List<T> rows, long total) {}
+}
@@ -0,0 +1,55 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.model.Branch;
+import com.cheko.backend.model.Item;
+import com.cheko.backend.model.Location;
+import com.cheko.backend.repository.BranchRepository;
+import com.cheko.backend.repository.ItemRepository;
+import com.cheko.backend.repository.LocationRepository;
+import com.cheko.backend.util.TextAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// Computes search_text for rows written before the column existed (e.g. seed data from migrations).
+// The loaded entities are left unmodified, so only search_text is written (no updated_at or version bump).
+@Component
+public class SearchTextBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchTextBackfill.class);
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BranchRepository branchRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int count = 0;
+        for (Item item : itemRepository.findBySearchTextIsNull()) {
+            itemRepository.updateSearchText(item.getId(), TextAnalyzer.indexForm(item.getName(), item.getDescription()));
+            count++;
+        }
+        for (Branch branch : branchRepository.findBySearchTextIsNull()) {
+            branchRepository.updateSearchText(branch.getId(), TextAnalyzer.indexForm(branch.getName(), branch.getDescription()));
+            count++;
+        }
+        for (Location location : locationRepository.findBySearchTextIsNull()) {
+            locationRepository.updateSearchText(location.getId(),
+                    TextAnalyzer.indexForm(location.getAddress(), location.getCity(), location.getState()));
+            count++;
+        }
+        if (count > 0) {
+            log.info("Backfilled search text for {} rows", count);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.event.CatalogChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Keeps the first page of results for the most popular searches pre-computed in SearchResultCache.
+// The set of queries comes from SearchAnalyticsService; results are recomputed after catalog changes.
+@Service
+public class SearchWarmupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchWarmupService.class);
+
+    // Matches @PageableDefault(size = 20, sort = "name") on the search endpoints
+    public static final Pageable DEFAULT_PAGE = PageRequest.of(0, 20, Sort.by("name"));
+
+    @Autowired
+    private SearchAnalyticsService searchAnalyticsService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private LocationService locationService;
+
+    @Value("${cheko.search.warmup.top-queries:20}")
+    private int topQueries;
+
+    private volatile List<String> warmedQueries = List.of();
+    private volatile boolean stale = true;
+
+    public List<String> getWarmedQueries() {
+        return warmedQueries;
+    }
+
+    // The catalog version bump has already made the cached results unreachable; re-warm promptly
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        stale = true;
+    }
+
+    @Scheduled(fixedDelayString = "${cheko.search.warmup.check-interval-ms:5000}")
+    public void refreshIfStale() {
+        if (stale) {
+            refresh();
+        }
+    }
+
+    // Periodically follow the trend of top queries even without catalog changes
+    @Scheduled(fixedDelayString = "${cheko.search.warmup.refresh-interval-ms:300000}")
+    public void refresh() {
+        stale = false;
+        try {
+            List<String> warmed = new ArrayList<>();
+            for (String query : searchAnalyticsService.topQueries(SearchAnalyticsService.SCOPE_ITEMS, topQueries)) {
+                itemService.searchItems(query, DEFAULT_PAGE);
+                warmed.add(SearchAnalyticsService.SCOPE_ITEMS + ":" + query);
+            }
+            for (String query : searchAnalyticsService.topQueries(SearchAnalyticsService.SCOPE_MARKERS, topQueries)) {
+                locationService.searchMapMarkers(query);
+                warmed.add(SearchAnalyticsService.SCOPE_MARKERS + ":" + query);
+            }
+            warmedQueries = warmed;
+        } catch (RuntimeException e) {
+            stale = true;
+            log.warn("Search warmup failed: {}", e.getMessage());
+        }
+    }
+}
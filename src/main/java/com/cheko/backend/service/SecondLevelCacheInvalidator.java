@@ -0,0 +1,50 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.event.CatalogChangedEvent;
+import com.cheko.backend.model.Branch;
+import com.cheko.backend.model.Category;
+import com.cheko.backend.model.Location;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Hibernate already evicts cached Category/Branch/Location rows it writes itself, including
+// @SQLDelete soft deletes. This listener covers the changes it cannot see (bulk statements,
+// other nodes, direct SQL) by evicting the affected entity and the cached lookup queries.
+@Component
+public class SecondLevelCacheInvalidator {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        Class<?> entityClass = entityClassFor(event.getEntityType());
+        if (entityClass == null) {
+            return;
+        }
+
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        if (event.getEntityId() != null) {
+            cache.evict(entityClass, event.getEntityId());
+        } else {
+            cache.evict(entityClass);
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+    }
+
+    private static Class<?> entityClassFor(String entityType) {
+        switch (entityType) {
+            case CatalogChangedEvent.CATEGORIES:
+                return Category.class;
+            case CatalogChangedEvent.BRANCHES:
+                return Branch.class;
+            case CatalogChangedEvent.LOCATIONS:
+                return Location.class;
+            default:
+                return null; // items are not second-level cached
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.cheko.backend.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Out-of-process cache shared by all backend instances (L2 behind the in-process caches).
+// Implementations must treat the tier as optional: failures are reported as misses, never thrown.
+public interface SharedCacheTier {
+
+    Optional<String> get(String key);
+
+    void put(String key, String value, Duration ttl);
+
+    // Cluster-wide catalog version, 0 if it has never been bumped
+    long catalogVersion();
+
+    // Atomically bump the cluster-wide catalog version; empty if the tier is unreachable
+    Optional<Long> incrementCatalogVersion();
+
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
@@ -0,0 +1,281 @@
+package com.cheko.backend.service;
+
+import com.cheko.backend.config.ReadYourWrites;
+import com.cheko.backend.util.ThreadFactories;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Stale-while-revalidate for customer-facing catalog reads.
+// Each read runs against the database within a latency budget; if the budget is exceeded, the call
+// fails or the circuit breaker is open, the last good snapshot for the same key is served instead
+// while the load finishes (or is retried) in the background.
+// Reads cached under the catalog version (readCached) are answered from the snapshot on the caller thread
+// while the version is unchanged, so only reads that can reach the database use the read pool.
+@Component
+public class SnapshotReadGuard implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotReadGuard.class);
+
+    private final RequestCoalescer requestCoalescer;
+    private final CatalogVersionService catalogVersionService;
+    private final Cache<Object, Snapshot> snapshots;
+    private final ThreadPoolExecutor executor;
+    private final long latencyBudgetMs;
+    private final long coldTimeoutMs;
+    private final long cachedMaxAgeMs;
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openUntil = new AtomicLong();
+    private final Cache<Object, Boolean> refreshing = Caffeine.newBuilder()
+            .expireAfterWrite(30, TimeUnit.SECONDS)
+            .build();
+    private final MeterRegistry meterRegistry;
+
+    public SnapshotReadGuard(RequestCoalescer requestCoalescer,
+                             CatalogVersionService catalogVersionService,
+                             MeterRegistry meterRegistry,
+                             @Value("${cheko.resilience.latency-budget-ms:1500}") long latencyBudgetMs,
+                             @Value("${cheko.resilience.cold-timeout-ms:10000}") long coldTimeoutMs,
+                             @Value("${cheko.cache.search.row-ttl-seconds:300}") long cachedMaxAgeSeconds,
+                             @Value("${cheko.resilience.failure-threshold:5}") int failureThreshold,
+                             @Value("${cheko.resilience.open-duration-ms:10000}") long openDurationMs,
+                             @Value("${cheko.resilience.max-snapshots:10000}") long maxSnapshots,
+                             @Value("${cheko.resilience.pool-size:16}") int poolSize,
+                             @Value("${cheko.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.requestCoalescer = requestCoalescer;
+        this.catalogVersionService = catalogVersionService;
+        this.meterRegistry = meterRegistry;
+        this.latencyBudgetMs = latencyBudgetMs;
+        this.coldTimeoutMs = coldTimeoutMs;
+        this.cachedMaxAgeMs = TimeUnit.SECONDS.toMillis(cachedMaxAgeSeconds);
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.snapshots = Caffeine.newBuilder().maximumSize(maxSnapshots).build();
+        // Stays bounded with virtual threads too: its saturation is the signal that the database is struggling
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(poolSize * 4),
+                ThreadFactories.named("catalog-read", virtualThreads));
+        meterRegistry.gauge("cheko.resilience.circuit.open", this, guard -> guard.isOpen() ? 1 : 0);
+    }
+
+    public <T> SnapshotRead<T> read(String operation, Supplier<T> loader) {
+        return read(operation, operation, loader);
+    }
+
+    public <T> SnapshotRead<T> readCached(String operation, Supplier<T> loader) {
+        return readCached(operation, operation, loader);
+    }
+
+    // For loaders whose result only changes with the catalog version (SearchResultCache-backed): a snapshot
+    // taken at the current version is what the loader would return, so it is served without a pool handoff
+    // (up to the row TTL of those caches, which also covers changes that never bump the version)
+    @SuppressWarnings("unchecked")
+    public <T> SnapshotRead<T> readCached(String operation, Object key, Supplier<T> loader) {
+        Snapshot last = snapshots.getIfPresent(key);
+        if (last != null && last.catalogVersion() == catalogVersionService.current()
+                && System.currentTimeMillis() - last.storedAt() < cachedMaxAgeMs) {
+            return SnapshotRead.fresh((T) last.value());
+        }
+        return read(operation, key, loader);
+    }
+
+    // operation names the read (metrics, coalescing); key identifies its arguments
+    @SuppressWarnings("unchecked")
+    public <T> SnapshotRead<T> read(String operation, Object key, Supplier<T> loader) {
+        Snapshot last = snapshots.getIfPresent(key);
+        long version = catalogVersionService.current(); // before loading: a change during the load outdates it
+
+        if (isOpen()) {
+            if (last != null) {
+                revalidateInBackground(operation, key, loader);
+                return stale(operation, last);
+            }
+            throw new CatalogUnavailableException("Catalog temporarily unavailable");
+        }
+
+        CompletableFuture<T> load;
+        try {
+            load = CompletableFuture.supplyAsync(
+                    ReadYourWrites.wrap(() -> requestCoalescer.execute(operation, key, loader)), executor);
+        } catch (RejectedExecutionException e) {
+            // Read pool saturated: the database is already struggling
+            recordFailure();
+            if (last != null) {
+                return stale(operation, last);
+            }
+            // Nothing to serve: load on the caller thread, still one load per key
+            T value = requestCoalescer.execute(operation, key, loader);
+            snapshots.put(key, new Snapshot(value, System.currentTimeMillis(), version));
+            return SnapshotRead.fresh(value);
+        }
+        load.whenComplete((value, error) -> {
+            if (error == null) {
+                snapshots.put(key, new Snapshot(value, System.currentTimeMillis(), version));
+                recordSuccess();
+            } else if (isAvailabilityFailure(error)) {
+                recordFailure();
+            }
+        });
+
+        try {
+            return SnapshotRead.fresh(last != null
+                    ? load.get(latencyBudgetMs, TimeUnit.MILLISECONDS)
+                    : load.get(coldTimeoutMs, TimeUnit.MILLISECONDS)); // nothing to fall back to: wait longer
+        } catch (TimeoutException e) {
+            // Over budget: the load keeps running and refreshes the snapshot when it completes
+            recordFailure();
+            if (last == null) {
+                throw new CatalogUnavailableException("Timed out reading " + operation);
+            }
+            return stale(operation, last);
+        } catch (ExecutionException e) {
+            if (last != null && isAvailabilityFailure(e.getCause())) {
+                log.warn("Serving stale {} after failure: {}", operation, e.getCause().getMessage());
+                return stale(operation, last);
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CatalogUnavailableException("Interrupted while reading " + operation);
+        }
+    }
+
+    public boolean isOpen() {
+        long until = openUntil.get();
+        return until != 0 && System.currentTimeMillis() < until;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> void revalidateInBackground(String operation, Object key, Supplier<T> loader) {
+        // One probe per key at a time; it also acts as the half-open trial for the breaker
+        if (refreshing.asMap().putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        Supplier<T> routedLoader = ReadYourWrites.wrap(loader);
+        long version = catalogVersionService.current();
+        try {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    T value = requestCoalescer.execute(operation, key, routedLoader);
+                    snapshots.put(key, new Snapshot(value, System.currentTimeMillis(), version));
+                    recordSuccess();
+                } catch (RuntimeException e) {
+                    if (isAvailabilityFailure(e)) {
+                        recordFailure();
+                    }
+                } finally {
+                    refreshing.invalidate(key);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            refreshing.invalidate(key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> SnapshotRead<T> stale(String operation, Snapshot snapshot) {
+        meterRegistry.counter("cheko.resilience.stale.served", "operation", operation).increment();
+        return SnapshotRead.stale((T) snapshot.value(), System.currentTimeMillis() - snapshot.storedAt());
+    }
+
+    // Only database and capacity problems count toward the breaker and justify stale data;
+    // anything else (bad sort property, invalid argument) is the caller's error and is rethrown as is
+    private static boolean isAvailabilityFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof DataAccessResourceFailureException
+                || cause instanceof TransientDataAccessException
+                || cause instanceof QueryTimeoutException
+                || cause instanceof CannotCreateTransactionException
+                || cause instanceof CatalogUnavailableException;
+    }
+
+    private void recordSuccess() {
+        consecutiveFailures.set(0);
+        openUntil.set(0);
+    }
+
+    private void recordFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            long until = System.currentTimeMillis() + openDurationMs;
+            if (openUntil.getAndSet(until) < System.currentTimeMillis()) {
+                log.warn("Catalog read circuit opened for {} ms", openDurationMs);
+            }
+        }
+    }
+
+    private record Snapshot(Object value, long storedAt, long catalogVersion) {}
+
+    // Result of a guarded read; stale results carry the snapshot age
+    public static final class SnapshotRead<T> {
+        private final T value;
+        private final boolean stale;
+        private final long ageMillis;
+
+        private SnapshotRead(T value, boolean stale, long ageMillis) {
+            this.value = value;
+            this.stale = stale;
+            this.ageMillis = ageMillis;
+        }
+
+        static <T> SnapshotRead<T> fresh(T value) {
+            return new SnapshotRead<>(value, false, 0);
+        }
+
+        static <T> SnapshotRead<T> stale(T value, long ageMillis) {
+            return new SnapshotRead<>(value, true, ageMillis);
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public boolean isStale() {
+            return stale;
+        }
+
+        public long getAgeMillis() {
+            return ageMillis;
+        }
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public static class CatalogUnavailableException extends RuntimeException {
+        public CatalogUnavailableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.cheko.backend.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Count-Min sketch: approximate frequency counts in fixed memory.
+// Estimates never undercount; overcount is bounded by ~ (e / width) * total with probability 1 - e^-depth.
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+    private final int[] seeds;
+
+    public CountMinSketch(int depth, int width) {
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+        this.seeds = new int[depth];
+        for (int i = 0; i < depth; i++) {
+            seeds[i] = 0x9E3779B9 * (i + 1);
+        }
+    }
+
+    public void add(String key) {
+        int hash = key.hashCode();
+        for (int row = 0; row < depth; row++) {
+            counters.incrementAndGet(row * width + bucket(hash, row));
+        }
+    }
+
+    public long estimate(String key) {
+        int hash = key.hashCode();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(row * width + bucket(hash, row)));
+        }
+        return min;
+    }
+
+    private int bucket(int hash, int row) {
+        int h = hash ^ seeds[row];
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, width);
+    }
+}
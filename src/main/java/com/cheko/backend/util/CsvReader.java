@@ -0,0 +1,88 @@
+package com.cheko.backend.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming RFC 4180 CSV reader: comma separated, fields optionally double-quoted, "" inside quotes
+// is a literal quote, and quoted fields may span lines. Reads one record at a time.
+public class CsvReader {
+
+    private final Reader reader;
+    private int pending = -2; // one character of lookahead; -2 = none
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Next record, or null at end of input; blank lines are skipped
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawAny = false;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (quoted) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (!sawAny) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+            if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                if (!sawAny) {
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            sawAny = true;
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pending != -2) {
+            int c = pending;
+            pending = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pending = c;
+    }
+}
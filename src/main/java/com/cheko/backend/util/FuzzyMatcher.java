@@ -0,0 +1,87 @@
+package com.cheko.backend.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// String similarity helpers for typo-tolerant search
+public final class FuzzyMatcher {
+
+    private FuzzyMatcher() {}
+
+    // Maximum number of edits tolerated for a term of the given length
+    public static int maxEditsFor(int termLength) {
+        if (termLength <= 3) {
+            return 0;
+        }
+        if (termLength <= 7) {
+            return 1;
+        }
+        return 2;
+    }
+
+    // Levenshtein distance restricted to a diagonal band of width maxDistance.
+    // Returns maxDistance + 1 as soon as the distance is known to exceed the bound.
+    public static int boundedDistance(String a, String b, int maxDistance) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > maxDistance) {
+            return maxDistance + 1;
+        }
+        if (n == 0 || m == 0) {
+            return Math.max(n, m);
+        }
+
+        int outOfBand = maxDistance + 1;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= maxDistance ? j : outOfBand;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(m, i + maxDistance);
+            current[0] = i <= maxDistance ? i : outOfBand;
+            if (from > 1) {
+                current[from - 1] = outOfBand;
+            }
+
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost,
+                        Math.min(previous[j] + 1, current[j - 1] + 1));
+                current[j] = Math.min(value, outOfBand);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) {
+                current[to + 1] = outOfBand;
+            }
+            if (rowMin > maxDistance) {
+                return outOfBand;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], outOfBand);
+    }
+
+    // Padded character trigrams used for candidate generation ("soup" -> " so", "sou", "oup", "up ")
+    public static Set<String> trigrams(String term) {
+        String padded = " " + term + " ";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Minimum number of shared trigrams a candidate needs to possibly be within maxEdits.
+    // Each edit destroys at most three trigrams of the query term.
+    public static int minSharedTrigrams(int termLength, int maxEdits) {
+        return Math.max(1, termLength - 3 * maxEdits);
+    }
+}
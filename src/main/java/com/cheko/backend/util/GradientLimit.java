@@ -0,0 +1,70 @@
+package com.cheko.backend.util;
+
+// Adaptive concurrency limit in the style of a gradient limiter: compares short-term latency with
+// the long-term baseline and shrinks the limit when requests start queueing (short > long), grows it by
+// a small queue allowance while latency stays at the baseline. Dropped requests (errors, timeouts)
+// cut the limit multiplicatively, as in AIMD.
+public class GradientLimit {
+
+    private static final double SHORT_WEIGHT = 2.0 / (10 + 1);   // EWMA over ~10 samples
+    private static final double LONG_WEIGHT = 2.0 / (600 + 1);   // EWMA over ~600 samples
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double backoffRatio;
+
+    private double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                         double backoffRatio) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized double getLongRttNanos() {
+        return longRtt;
+    }
+
+    // One completed request: its latency, how many requests were in flight when it started, and whether it failed
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+            return;
+        }
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) * SHORT_WEIGHT;
+        longRtt += (rttNanos - longRtt) * LONG_WEIGHT;
+
+        // After a load spike the baseline would stay inflated for a long time; let it recover quickly
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Not enough concurrency to learn anything about the limit: keep it where it is
+        if (inflight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double queueAllowance = Math.sqrt(limit);
+        double newLimit = limit * gradient + queueAllowance;
+        limit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+}
@@ -0,0 +1,155 @@
+package com.cheko.backend.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Space-Saving heavy-hitter tracker: monitors at most `capacity` keys. When full, a new key
+// replaces the least frequent one and inherits its count as the error bound.
+// Counters live in a stream summary (buckets of equal count, linked in ascending count order),
+// so both an increment and an eviction are O(1) while the caller holds the lock.
+public class SpaceSaving {
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private Bucket lowest; // least frequent counters, evicted first
+    private Bucket highest;
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public synchronized void offer(String key) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            increment(counter);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(key, 0, 0);
+            counters.put(key, counter);
+            attachLowest(counter);
+            increment(counter);
+            return;
+        }
+        Bucket min = lowest;
+        Iterator<Counter> oldest = min.counters.iterator();
+        Counter evicted = oldest.next();
+        oldest.remove();
+        counters.remove(evicted.key);
+        counter = new Counter(key, min.count, min.count);
+        counter.bucket = min;
+        min.counters.add(counter);
+        counters.put(key, counter);
+        increment(counter);
+    }
+
+    // The n most frequent keys, most frequent first
+    public synchronized List<Counter> top(int n) {
+        List<Counter> snapshot = new ArrayList<>(Math.min(n, counters.size()));
+        for (Bucket bucket = highest; bucket != null && snapshot.size() < n; bucket = bucket.prev) {
+            for (Counter counter : bucket.counters) {
+                if (snapshot.size() == n) {
+                    break;
+                }
+                snapshot.add(new Counter(counter.key, counter.count, counter.error));
+            }
+        }
+        return snapshot;
+    }
+
+    // Moves the counter to the bucket for count + 1, creating it right after its current bucket if needed
+    private void increment(Counter counter) {
+        Bucket from = counter.bucket;
+        long target = counter.count + 1;
+        Bucket to = from.next;
+        if (to == null || to.count != target) {
+            to = new Bucket(target);
+            to.prev = from;
+            to.next = from.next;
+            if (from.next != null) {
+                from.next.prev = to;
+            } else {
+                highest = to;
+            }
+            from.next = to;
+        }
+        from.counters.remove(counter);
+        to.counters.add(counter);
+        counter.bucket = to;
+        counter.count = target;
+        if (from.counters.isEmpty()) {
+            unlink(from);
+        }
+    }
+
+    // New counters start at count 0 in the lowest bucket and are incremented right away
+    private void attachLowest(Counter counter) {
+        if (lowest == null || lowest.count != 0) {
+            Bucket zero = new Bucket(0);
+            zero.next = lowest;
+            if (lowest != null) {
+                lowest.prev = zero;
+            } else {
+                highest = zero;
+            }
+            lowest = zero;
+        }
+        lowest.counters.add(counter);
+        counter.bucket = lowest;
+    }
+
+    private void unlink(Bucket bucket) {
+        if (bucket.prev != null) {
+            bucket.prev.next = bucket.next;
+        } else {
+            lowest = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.prev = bucket.prev;
+        } else {
+            highest = bucket.prev;
+        }
+    }
+
+    private static final class Bucket {
+        private final long count;
+        private final Set<Counter> counters = new LinkedHashSet<>();
+        private Bucket prev;
+        private Bucket next;
+
+        private Bucket(long count) {
+            this.count = count;
+        }
+    }
+
+    public static class Counter {
+        private final String key;
+        private long count;
+        private final long error;
+        private Bucket bucket;
+
+        Counter(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        // Upper bound on how much of count may have been inherited from evicted keys
+        public long getError() {
+            return error;
+        }
+    }
+}
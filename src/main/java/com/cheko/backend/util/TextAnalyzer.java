@@ -0,0 +1,176 @@
+package com.cheko.backend.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Bilingual (Arabic/English) text analysis used for search.
+// The same pipeline runs at index time (search_text columns) and at query time:
+// normalization -> tokenization -> light stemming -> synonym mapping.
+public final class TextAnalyzer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{Mn}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final String[] ARABIC_PREFIXES = {"وال", "بال", "كال", "فال", "لل", "ال"};
+    private static final String[] ARABIC_SUFFIXES = {"ات", "ون", "ين", "ان", "ها", "يه", "ه", "ي"};
+
+    // Each group maps every member onto the first one, in both directions of the bilingual menu
+    private static final String[][] SYNONYM_GROUPS = {
+            {"soup", "شوربة", "شوربه", "حساء"},
+            {"rice", "رز", "أرز"},
+            {"coffee", "قهوة"},
+            {"tea", "شاي"},
+            {"chicken", "دجاج"},
+            {"meat", "لحم"},
+            {"fish", "سمك"},
+            {"salad", "سلطة"},
+            {"juice", "عصير"},
+            {"drink", "مشروب", "beverage"},
+            {"breakfast", "فطور", "إفطار"},
+            {"sushi", "سوشي"},
+            {"dessert", "حلى", "حلويات", "sweet"},
+            {"bread", "خبز"},
+            {"egg", "بيض"},
+            {"cheese", "جبن"},
+            {"branch", "فرع"},
+            {"mall", "مول"},
+            {"downtown", "وسط"},
+            {"riyadh", "الرياض"}
+    };
+
+    private static final Map<String, String> SYNONYMS = compileSynonyms();
+
+    private TextAnalyzer() {}
+
+    // Analyze free text into canonical search terms
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : tokenize(normalize(text))) {
+            String stemmed = stem(token);
+            terms.add(SYNONYMS.getOrDefault(stemmed, stemmed));
+        }
+        return terms;
+    }
+
+    // Precomputed form stored in search_text columns; terms are space separated and padded
+    // so that a query phrase can be matched with a single LIKE
+    public static String indexForm(String... fields) {
+        List<String> terms = new ArrayList<>();
+        for (String field : fields) {
+            terms.addAll(analyze(field));
+        }
+        return terms.isEmpty() ? null : " " + String.join(" ", terms) + " ";
+    }
+
+    // Query-side form, or null when nothing searchable is left after analysis
+    public static String queryForm(String query) {
+        List<String> terms = analyze(query);
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+
+    // Lowercase, strip diacritics/tashkeel and fold Arabic letter variants
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFKD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+
+        StringBuilder normalized = new StringBuilder(stripped.length());
+        for (int i = 0; i < stripped.length(); i++) {
+            char c = stripped.charAt(i);
+            switch (c) {
+                case 'ـ': // tatweel
+                    break;
+                case 'ٱ': // alef wasla
+                    normalized.append('ا');
+                    break;
+                case 'ة': // taa marbuta -> haa
+                    normalized.append('ه');
+                    break;
+                case 'ى': // alef maksura -> yaa
+                    normalized.append('ي');
+                    break;
+                default:
+                    if (c >= '٠' && c <= '٩') { // Arabic-Indic digits
+                        normalized.append((char) ('0' + (c - '٠')));
+                    } else {
+                        normalized.append(c);
+                    }
+            }
+        }
+        return normalized.toString();
+    }
+
+    // Split normalized text into word tokens
+    public static List<String> tokenize(String normalized) {
+        return Arrays.stream(TOKEN_SEPARATOR.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    // Light stemming: Arabic article/plural affixes and English plurals
+    static String stem(String token) {
+        if (isArabic(token)) {
+            return stemArabic(token);
+        }
+        return stemEnglish(token);
+    }
+
+    private static String stemArabic(String token) {
+        String stem = token;
+        for (String prefix : ARABIC_PREFIXES) {
+            if (stem.startsWith(prefix) && stem.length() - prefix.length() >= 2) {
+                stem = stem.substring(prefix.length());
+                break;
+            }
+        }
+        for (String suffix : ARABIC_SUFFIXES) {
+            if (stem.endsWith(suffix) && stem.length() - suffix.length() >= 2) {
+                stem = stem.substring(0, stem.length() - suffix.length());
+                break;
+            }
+        }
+        return stem;
+    }
+
+    private static String stemEnglish(String token) {
+        if (token.length() <= 3) {
+            return token;
+        }
+        if (token.endsWith("ies")) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+        if (token.endsWith("ches") || token.endsWith("shes") || token.endsWith("xes") || token.endsWith("sses")) {
+            return token.substring(0, token.length() - 2);
+        }
+        if (token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+
+    private static boolean isArabic(String token) {
+        return !token.isEmpty() && Character.UnicodeBlock.of(token.charAt(0)) == Character.UnicodeBlock.ARABIC;
+    }
+
+    private static Map<String, String> compileSynonyms() {
+        Map<String, String> synonyms = new HashMap<>();
+        for (String[] group : SYNONYM_GROUPS) {
+            String canonical = stem(normalize(group[0]));
+            for (String member : group) {
+                for (String token : tokenize(normalize(member))) {
+                    synonyms.put(stem(token), canonical);
+                }
+            }
+        }
+        return synonyms;
+    }
+}
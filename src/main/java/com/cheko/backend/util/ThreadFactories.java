@@ -0,0 +1,23 @@
+package com.cheko.backend.util;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Named thread factories for the application's executors: virtual threads when the virtual-thread
+// serving mode is on (cheko.threads.virtual.enabled), daemon platform threads otherwise.
+public final class ThreadFactories {
+
+    private ThreadFactories() {}
+
+    public static ThreadFactory named(String prefix, boolean virtual) {
+        if (virtual) {
+            return Thread.ofVirtual().name(prefix + "-", 1).factory();
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.cheko.backend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Keeps the k greatest elements seen so far using a bounded min-heap: O(n log k) instead of a full sort
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<T> comparator;
+    private final PriorityQueue<T> heap;
+
+    public TopK(int k, Comparator<T> comparator) {
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(Math.max(1, k), comparator);
+    }
+
+    public void offer(T element) {
+        if (k <= 0) {
+            return;
+        }
+        if (heap.size() < k) {
+            heap.add(element);
+        } else if (comparator.compare(element, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(element);
+        }
+    }
+
+    // Retained elements, greatest first
+    public List<T> toSortedList() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(comparator.reversed());
+        return sorted;
+    }
+}
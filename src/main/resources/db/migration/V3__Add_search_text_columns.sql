@@ -0,0 +1,5 @@
+-- Precomputed, analyzer-normalized search text (see TextAnalyzer)
+-- Populated by the application on write; existing rows are backfilled at startup
+ALTER TABLE items ADD COLUMN search_text TEXT;
+ALTER TABLE branches ADD COLUMN search_text TEXT;
+ALTER TABLE locations ADD COLUMN search_text TEXT;
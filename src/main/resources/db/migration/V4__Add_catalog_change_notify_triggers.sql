@@ -0,0 +1,77 @@
+-- Broadcast every committed change to menu/location tables on the catalog_changes channel,
+-- including direct SQL edits, so each application node can invalidate the affected cache entries.
+-- Payload: <table>:<id>:<INSERT|UPDATE|DELETE>:<application_name of the writing session>
+-- Notifications are only delivered on commit, and identical payloads within a transaction are folded.
+-- Only changes to catalog content notify: order counts (total_orders), search_text backfills, bookkeeping
+-- columns (updated_at, version) and statements that rewrite a column to its current value (e.g. the hourly
+-- best-seller reset) do not. INSERT/DELETE and UPDATE are separate triggers because a WHEN clause on INSERT
+-- cannot reference OLD.
+CREATE OR REPLACE FUNCTION notify_catalog_change() RETURNS trigger AS $$
+DECLARE
+    row_id BIGINT;
+    operation TEXT := TG_OP;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        row_id := OLD.id;
+    ELSE
+        row_id := NEW.id;
+    END IF;
+
+    -- Soft deletes (@SQLDelete) are updates that set deleted_at
+    IF TG_OP = 'UPDATE' AND NEW.deleted_at IS NOT NULL AND OLD.deleted_at IS NULL THEN
+        operation := 'DELETE';
+    END IF;
+
+    PERFORM pg_notify('catalog_changes',
+            TG_TABLE_NAME || ':' || row_id || ':' || operation || ':' || coalesce(current_setting('application_name', true), ''));
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER items_notify_change
+    AFTER INSERT OR DELETE ON items
+    FOR EACH ROW EXECUTE FUNCTION notify_catalog_change();
+CREATE TRIGGER items_notify_update
+    AFTER UPDATE OF name, description, price, calories, image_url, category_id, is_available, is_best_seller, deleted_at
+    ON items
+    FOR EACH ROW
+    WHEN ((OLD.name, OLD.description, OLD.price, OLD.calories, OLD.image_url, OLD.category_id,
+           OLD.is_available, OLD.is_best_seller, OLD.deleted_at)
+          IS DISTINCT FROM
+          (NEW.name, NEW.description, NEW.price, NEW.calories, NEW.image_url, NEW.category_id,
+           NEW.is_available, NEW.is_best_seller, NEW.deleted_at))
+    EXECUTE FUNCTION notify_catalog_change();
+
+CREATE TRIGGER categories_notify_change
+    AFTER INSERT OR DELETE ON categories
+    FOR EACH ROW EXECUTE FUNCTION notify_catalog_change();
+CREATE TRIGGER categories_notify_update
+    AFTER UPDATE OF name, description, icon_name, deleted_at
+    ON categories
+    FOR EACH ROW
+    WHEN ((OLD.name, OLD.description, OLD.icon_name, OLD.deleted_at)
+          IS DISTINCT FROM (NEW.name, NEW.description, NEW.icon_name, NEW.deleted_at))
+    EXECUTE FUNCTION notify_catalog_change();
+
+CREATE TRIGGER branches_notify_change
+    AFTER INSERT OR DELETE ON branches
+    FOR EACH ROW EXECUTE FUNCTION notify_catalog_change();
+CREATE TRIGGER branches_notify_update
+    AFTER UPDATE OF name, phone, description, opening_hours, is_active, deleted_at
+    ON branches
+    FOR EACH ROW
+    WHEN ((OLD.name, OLD.phone, OLD.description, OLD.opening_hours, OLD.is_active, OLD.deleted_at)
+          IS DISTINCT FROM (NEW.name, NEW.phone, NEW.description, NEW.opening_hours, NEW.is_active, NEW.deleted_at))
+    EXECUTE FUNCTION notify_catalog_change();
+
+CREATE TRIGGER locations_notify_change
+    AFTER INSERT OR DELETE ON locations
+    FOR EACH ROW EXECUTE FUNCTION notify_catalog_change();
+CREATE TRIGGER locations_notify_update
+    AFTER UPDATE OF branch_id, address, latitude, longitude, city, state, country, deleted_at
+    ON locations
+    FOR EACH ROW
+    WHEN ((OLD.branch_id, OLD.address, OLD.latitude, OLD.longitude, OLD.city, OLD.state, OLD.country, OLD.deleted_at)
+          IS DISTINCT FROM
+          (NEW.branch_id, NEW.address, NEW.latitude, NEW.longitude, NEW.city, NEW.state, NEW.country, NEW.deleted_at))
+    EXECUTE FUNCTION notify_catalog_change();
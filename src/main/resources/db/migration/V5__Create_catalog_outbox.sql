@@ -0,0 +1,13 @@
+-- Transactional outbox of catalog mutations, appended in the same transaction as the change.
+-- Relayed in id order to in-process subscribers on every node; rows are purged after a retention period.
+CREATE TABLE catalog_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(32) NOT NULL,
+    entity_id BIGINT,
+    entity_ids TEXT, -- comma-separated ids touched by a bulk change (entity_id NULL), when known
+    change_type VARCHAR(16) NOT NULL,
+    origin VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_catalog_outbox_created_at ON catalog_outbox(created_at);
@@ -0,0 +1,14 @@
+-- Entity ids come from the BIGSERIAL sequences through Hibernate's pooled optimizer (allocationSize = 50):
+-- one nextval reserves the 50 ids up to and including the returned value.
+-- Each sequence is moved past every id in use so the first reserved block cannot overlap existing rows.
+ALTER SEQUENCE categories_id_seq INCREMENT BY 50;
+SELECT setval('categories_id_seq', GREATEST((SELECT last_value FROM categories_id_seq), (SELECT COALESCE(MAX(id), 0) FROM categories), 1));
+
+ALTER SEQUENCE branches_id_seq INCREMENT BY 50;
+SELECT setval('branches_id_seq', GREATEST((SELECT last_value FROM branches_id_seq), (SELECT COALESCE(MAX(id), 0) FROM branches), 1));
+
+ALTER SEQUENCE locations_id_seq INCREMENT BY 50;
+SELECT setval('locations_id_seq', GREATEST((SELECT last_value FROM locations_id_seq), (SELECT COALESCE(MAX(id), 0) FROM locations), 1));
+
+ALTER SEQUENCE items_id_seq INCREMENT BY 50;
+SELECT setval('items_id_seq', GREATEST((SELECT last_value FROM items_id_seq), (SELECT COALESCE(MAX(id), 0) FROM items), 1));
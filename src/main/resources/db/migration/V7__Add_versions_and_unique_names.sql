@@ -0,0 +1,12 @@
+-- Optimistic locking: JPA @Version columns, compared in the WHERE clause of every entity UPDATE
+-- and matched against If-Match on the PATCH endpoints.
+ALTER TABLE categories ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE branches ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE locations ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Name uniqueness is enforced by the database instead of an existence query before each write.
+-- Case-insensitive and among active rows only, so a soft-deleted name can be reused.
+ALTER TABLE categories DROP CONSTRAINT categories_name_key;
+CREATE UNIQUE INDEX uq_categories_name_active ON categories (LOWER(name)) WHERE deleted_at IS NULL;
+CREATE UNIQUE INDEX uq_items_name_active ON items (LOWER(name)) WHERE deleted_at IS NULL;
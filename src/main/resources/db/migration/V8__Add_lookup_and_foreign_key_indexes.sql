@@ -0,0 +1,10 @@
+-- Case-insensitive lookups compare LOWER(column) = LOWER(:param) on active rows only, so the indexes are on the
+-- same expressions with the same deleted_at predicate. Item and category names already have unique indexes
+-- of this shape (V7); branch names, cities and states are not unique.
+CREATE INDEX idx_branches_name_active ON branches (LOWER(name)) WHERE deleted_at IS NULL;
+CREATE INDEX idx_locations_city_active ON locations (LOWER(city)) WHERE deleted_at IS NULL;
+CREATE INDEX idx_locations_state_active ON locations (LOWER(state)) WHERE deleted_at IS NULL;
+
+-- Foreign keys: joins from categories/branches and the parent-side checks on delete
+CREATE INDEX idx_items_category_id ON items (category_id);
+CREATE INDEX idx_locations_branch_id ON locations (branch_id);